@@ -0,0 +1,51 @@
+package com.archapp.coresmash;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.tilemap.TilemapTile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Thread)
+public class Match3Benchmark {
+    @Param({"50", "500", "5000"})
+    int tileCount;
+
+    private Match3 match3;
+    private List<TilemapTile> output;
+    private TilemapTile mixedStart;
+    private TilemapTile singleColorStart;
+
+    @Setup
+    public void setup() {
+        match3 = new Match3();
+        output = new ArrayList<>();
+
+        TilemapManager mixed = BenchmarkLevels.createTilemapManager(BenchmarkLevels.createDisk(tileCount, 2, 1));
+        mixedStart = mixed.getTilemapTile(0, 0, 0);
+
+        TilemapManager singleColor = BenchmarkLevels.createTilemapManager(BenchmarkLevels.createDisk(tileCount, 1, 1));
+        singleColorStart = singleColor.getTilemapTile(0, 0, 0);
+    }
+
+    /* Two colors make for clusters of a few dozen tiles */
+    @Benchmark
+    public List<TilemapTile> getColorMatchesMixed() {
+        match3.getColorMatchesFromTile(mixedStart, output);
+        return output;
+    }
+
+    /* Worst case, the whole map matches */
+    @Benchmark
+    public List<TilemapTile> getColorMatchesSingleColor() {
+        match3.getColorMatchesFromTile(singleColorStart, output);
+        return output;
+    }
+}
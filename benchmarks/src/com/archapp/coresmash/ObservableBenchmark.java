@@ -0,0 +1,61 @@
+package com.archapp.coresmash;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A chain clear as the RoundManager sees it: one TILE_DESTROYED per tile relayed through an extra
+ * hop like the Tilemap -> TilemapManager one, followed by the match size and the score gained.
+ */
+@State(Scope.Thread)
+public class ObservableBenchmark {
+    @Param({"40", "400"})
+    int chainSize;
+
+    private Observable tilemap;
+    private Observable tilemapManager;
+    private Object tile;
+
+    @Setup
+    public void setup() {
+        tilemap = new Observable();
+        tilemapManager = new Observable();
+        tile = new Object();
+
+        tilemap.addObserver(new Observer() {
+            @Override
+            public void onNotify(NotificationType type, Object ob) {
+                tilemapManager.notifyObservers(type, ob);
+            }
+        });
+        tilemapManager.addObserver(new CountingObserver());
+    }
+
+    @Benchmark
+    public void chainClear() {
+        for (int i = 0; i < chainSize; ++i) {
+            tilemap.notifyObservers(NotificationType.TILE_DESTROYED, tile);
+        }
+        tilemapManager.notifyObservers(NotificationType.SAME_COLOR_MATCH, chainSize);
+        tilemapManager.notifyObservers(NotificationType.NOTIFICATION_TYPE_SCORE_INCREMENTED, chainSize * 40);
+    }
+
+    /* Stands in for the RoundManager so the benchmark doesn't need a round going */
+    private static class CountingObserver implements Observer, IntObserver {
+        int destroyed;
+        int total;
+
+        @Override
+        public void onNotify(NotificationType type, Object ob) {
+            if (type == NotificationType.TILE_DESTROYED) ++destroyed;
+        }
+
+        @Override
+        public void onNotify(NotificationType type, int value) {
+            total += value;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.archapp.coresmash.animation;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.tilemap.TilemapTile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Plays a whole chain clear of tileCount balls at 60 updates per second. Drawing needs a GL context
+ * so only the bookkeeping is measured; with -prof gc it should show no allocations.
+ */
+@State(Scope.Thread)
+public class AnimationManagerBenchmark {
+    private static final float DELTA = 1 / 60f;
+
+    @Param({"40", "400"})
+    int tileCount;
+
+    private AnimationManager animationManager;
+    private List<TilemapTile> tiles;
+
+    @Setup
+    public void setup() {
+        TilemapManager tilemapManager = BenchmarkLevels.createTilemapManager(BenchmarkLevels.createDisk(tileCount, 4, 1));
+        tiles = tilemapManager.getTileList();
+        animationManager = new AnimationManager();
+    }
+
+    @Benchmark
+    public int playChainClear() {
+        for (int i = 0; i < tiles.size(); ++i) {
+            animationManager.put(tiles.get(i));
+        }
+
+        int updates = 0;
+        while (animationManager.getActiveCount() > 0) {
+            animationManager.update(DELTA);
+            ++updates;
+        }
+        return updates;
+    }
+}
@@ -0,0 +1,137 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.archapp.coresmash.animation.AnimationManager;
+import com.archapp.coresmash.tilemap.Tilemap;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.sound.SoundManager;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the maps used by the benchmarks. Maps are filled ring by ring around the center tile
+ * so any tile count gives a single connected blob, with the outermost ring left incomplete.
+ * <p>
+ * Every benchmark goes through here first, so this is also where the screen size that
+ * {@link com.archapp.coresmash.WorldSettings} reads gets mocked.
+ */
+public final class BenchmarkLevels {
+    public static final int RANDOM_REGULAR_ID = 17;
+
+    static {
+        if (Gdx.graphics == null) {
+            Gdx.graphics = new MockGraphics();
+        }
+    }
+
+    private BenchmarkLevels() {
+    }
+
+    /**
+     * Destroyed tiles play their sounds, which needs an application around for the settings to load.
+     */
+    public static void silenceSounds() {
+        if (Gdx.app == null) {
+            HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+            config.renderInterval = -1;
+            new HeadlessApplication(new ApplicationAdapter() {
+            }, config);
+        }
+        SoundManager.get().setSilent(true);
+    }
+
+    public static int getRadiusFor(int tileCount) {
+        int radius = 0;
+        while (3 * radius * (radius + 1) + 1 < tileCount) ++radius;
+        return radius;
+    }
+
+    /**
+     * @return tileCount tiles with their colors picked from the first colorCount regular balls
+     */
+    public static List<ParsedTile> createDisk(int tileCount, int colorCount, long seed) {
+        Random rand = new Random(seed);
+        List<ParsedTile> tiles = createDisk(tileCount);
+        for (ParsedTile tile : tiles) {
+            tile.tileID = rand.nextInt(colorCount);
+        }
+        return tiles;
+    }
+
+    /**
+     * @return tileCount tiles that get a random color when built
+     */
+    public static List<ParsedTile> createRandomDisk(int tileCount) {
+        List<ParsedTile> tiles = createDisk(tileCount);
+        for (ParsedTile tile : tiles) {
+            tile.tileID = RANDOM_REGULAR_ID;
+        }
+        return tiles;
+    }
+
+    /**
+     * @return A manager with a single non rotating layer built from the given tiles
+     */
+    public static TilemapManager createTilemapManager(List<ParsedTile> tiles) {
+        TilemapManager tilemapManager = new TilemapManager(new AnimationManager());
+        tilemapManager.newLayer()
+                .setColorCount(1) // keeps the given colors as they are
+                .setOrigin(new Vector2())
+                .setOffset(new Vector2())
+                .setMinMaxRotationSpeed(0, 0, false)
+                .setMapMinMaxRotationSpeed(0, 0, false)
+                .populateFrom(tiles)
+                .build();
+        return tilemapManager;
+    }
+
+    /**
+     * A level file with the tiles as its only layer, laid out like LevelParser.saveAs does.
+     */
+    public static String createLevelXml(List<ParsedTile> tiles) {
+        StringBuilder sb = new StringBuilder("<?xml version='1.0' encoding='UTF-8' ?><num><levelSettings>")
+                .append("<lives>0</lives><moves>40</moves><time>0</time><gameTarget>reachScore</gameTarget>")
+                .append("<targetScore targetScoreOne=\"100\" targetScoreTwo=\"200\" targetScoreThree=\"300\" />")
+                .append("<ballSpeed>15</ballSpeed><launcherSize>3</launcherSize><launcherCD>0.16</launcherCD>")
+                .append("</levelSettings><mapSettings><map id=\"0\"><origin x=\"0.0\" y=\"0.0\" /><offset x=\"0.0\" y=\"0.0\" />")
+                .append("<originMinSpeed>0</originMinSpeed><originMaxSpeed>0</originMaxSpeed><minSpeed>10</minSpeed>")
+                .append("<maxSpeed>20</maxSpeed><chained>true</chained><rotateCCW>false</rotateCCW><colorCount>4</colorCount><content>");
+        for (ParsedTile tile : tiles) {
+            sb.append("<ball id=\"").append(tile.tileID)
+                    .append("\" x=\"").append(tile.x)
+                    .append("\" y=\"").append(tile.y).append("\" />");
+        }
+        return sb.append("</content></map></mapSettings></num>").toString();
+    }
+
+    private static List<ParsedTile> createDisk(int tileCount) {
+        int radius = getRadiusFor(tileCount);
+        List<ParsedTile> tiles = new ArrayList<>();
+        for (int x = -radius; x <= radius; ++x) {
+            for (int y = -radius; y <= radius; ++y) {
+                if (Tilemap.getTileDistance(x, y, 0, 0) > radius) continue;
+                ParsedTile tile = new ParsedTile();
+                tile.x = x;
+                tile.y = y;
+                tiles.add(tile);
+            }
+        }
+
+        Collections.sort(tiles, new Comparator<ParsedTile>() {
+            @Override
+            public int compare(ParsedTile t1, ParsedTile t2) {
+                return Integer.compare(Tilemap.getTileDistance(t1.x, t1.y, 0, 0), Tilemap.getTileDistance(t2.x, t2.y, 0, 0));
+            }
+        });
+        return new ArrayList<>(tiles.subList(0, tileCount));
+    }
+}
@@ -0,0 +1,68 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Target scores of a whole campaign, from the level index against parsing every level's XML as
+ * the campaign screen used to. The XML used to be left once past the target scores, so parsing
+ * the whole file is a bit worse than it was.
+ */
+@State(Scope.Thread)
+public class LevelIndexBenchmark {
+    @Param({"200"})
+    int levelCount;
+
+    private FileHandle dir;
+    private FileHandle[] xmlFiles;
+    private String[] names;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = new FileHandle(File.createTempFile("levels", ""));
+        dir.delete();
+        dir.mkdirs();
+
+        xmlFiles = new FileHandle[levelCount];
+        names = new String[levelCount];
+        for (int i = 0; i < levelCount; ++i) {
+            names[i] = "level" + i;
+            xmlFiles[i] = dir.child(names[i] + ".xml");
+            xmlFiles[i].writeString(BenchmarkLevels.createLevelXml(BenchmarkLevels.createDisk(100, 4, i)), false);
+        }
+        LevelConverter.convertAll(dir, dir);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dir.deleteDirectory();
+    }
+
+    @Benchmark
+    public int readIndex() {
+        LevelIndex index = LevelIndex.read(dir.child(LevelIndex.FILE_NAME));
+        int total = 0;
+        for (String name : names) {
+            total += index.get(name).getTargetScoreThree();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int parseLevels() {
+        int total = 0;
+        for (FileHandle file : xmlFiles) {
+            total += LevelParser.loadFromXml(file).getLevelSettings().targetScores.three;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,53 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reads the same level from XML and from the binary format the converter writes, file read included.
+ */
+@State(Scope.Thread)
+public class LevelParserBenchmark {
+    @Param({"100", "1000"})
+    int tileCount;
+
+    private FileHandle dir;
+    private FileHandle xml;
+    private FileHandle binary;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = new FileHandle(File.createTempFile("levels", ""));
+        dir.delete();
+        dir.mkdirs();
+
+        xml = dir.child("level.xml");
+        xml.writeString(BenchmarkLevels.createLevelXml(BenchmarkLevels.createDisk(tileCount, 4, 1)), false);
+        binary = dir.child("level" + BinaryLevelFormat.EXTENSION);
+        LevelConverter.convert(xml, binary);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dir.deleteDirectory();
+    }
+
+    @Benchmark
+    public ParsedLevel loadXml() {
+        return LevelParser.loadFromXml(xml);
+    }
+
+    @Benchmark
+    public ParsedLevel loadBinary() {
+        return BinaryLevelFormat.read(binary.readBytes());
+    }
+}
@@ -0,0 +1,70 @@
+package com.archapp.coresmash.managers;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.tilemap.TilemapTile;
+import com.archapp.coresmash.tiles.MovingBall;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests a fixed set of ball positions spread around the map, about half of them touching a tile.
+ */
+@State(Scope.Thread)
+public class CollisionDetectorBenchmark {
+    private static final int POSITION_COUNT = 256;
+
+    @Param({"50", "500", "5000"})
+    int tileCount;
+
+    private TilemapManager tilemapManager;
+    private List<TilemapTile> tileList;
+    private CollisionDetector collisionDetector;
+    private MovingBall ball;
+    private float[] positions;
+
+    @Setup
+    public void setup() {
+        tilemapManager = BenchmarkLevels.createTilemapManager(BenchmarkLevels.createDisk(tileCount, 4, 1));
+        tileList = tilemapManager.getTileList();
+        collisionDetector = new CollisionDetector();
+        ball = new MovingBall();
+        ball.setScale(1);
+
+        Random rand = new Random(1);
+        float centerX = tilemapManager.getLayerPositionX(0);
+        float centerY = tilemapManager.getLayerPositionY(0);
+        float radius = tilemapManager.getLayerBoundingRadius(0) * 1.4f;
+        positions = new float[POSITION_COUNT * 2];
+        for (int i = 0; i < positions.length; i += 2) {
+            float angle = rand.nextFloat() * 360;
+            float distance = (float) Math.sqrt(rand.nextFloat()) * radius;
+            positions[i] = centerX + distance * (float) Math.cos(Math.toRadians(angle));
+            positions[i + 1] = centerY + distance * (float) Math.sin(Math.toRadians(angle));
+        }
+    }
+
+    @Benchmark
+    public void findCollisionLinear(Blackhole bh) {
+        for (int i = 0; i < positions.length; i += 2) {
+            ball.setPositionInWorld(positions[i], positions[i + 1]);
+            bh.consume(collisionDetector.findCollision(tileList, ball));
+        }
+    }
+
+    @Benchmark
+    public void findCollisionBroadphase(Blackhole bh) {
+        for (int i = 0; i < positions.length; i += 2) {
+            ball.setPositionInWorld(positions[i], positions[i + 1]);
+            bh.consume(collisionDetector.findCollision(tilemapManager, ball));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.archapp.coresmash.managers;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.tiles.MovingBall;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Keeps ballCount balls in flight, disposing and relaunching a quarter of them every update the way
+ * collisions would.
+ */
+@State(Scope.Thread)
+public class MovingBallManagerBenchmark {
+    private static final float DELTA = 1 / 60f;
+
+    @Param({"1", "16", "128"})
+    int ballCount;
+
+    private MovingBallManager movingBallManager;
+    private int turn;
+
+    @Setup
+    public void setup() {
+        BenchmarkLevels.getRadiusFor(0); // mocks the screen size
+        movingBallManager = new MovingBallManager();
+        movingBallManager.setDefaultBallSpeed(15);
+        for (int i = 0; i < ballCount; ++i) {
+            movingBallManager.activate(movingBallManager.create(i, 0, 0));
+        }
+    }
+
+    @Benchmark
+    public int updateAndDispose() {
+        movingBallManager.update(DELTA);
+
+        int disposed = 0;
+        for (int i = turn++ & 3; i < movingBallManager.getActiveCount(); i += 4) {
+            movingBallManager.getActiveBall(i).dispose();
+            ++disposed;
+        }
+        movingBallManager.disposeInactive();
+
+        for (int i = 0; i < disposed; ++i) {
+            movingBallManager.activate(movingBallManager.create(i, 0, 0));
+        }
+        return movingBallManager.getActiveCount();
+    }
+}
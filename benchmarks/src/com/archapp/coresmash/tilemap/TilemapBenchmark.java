@@ -0,0 +1,74 @@
+package com.archapp.coresmash.tilemap;
+
+import com.archapp.coresmash.Coords2D;
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.levelbuilder.ParsedTile;
+import com.archapp.coresmash.tiles.Tile;
+import com.archapp.coresmash.tiles.TileFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class TilemapBenchmark {
+    @Param({"50", "500", "5000"})
+    int tileCount;
+
+    private Tilemap tilemap;
+    private int[] xs;
+    private int[] ys;
+    private Tile[] tiles;
+
+    @Setup
+    public void setup() {
+        List<ParsedTile> parsed = BenchmarkLevels.createDisk(tileCount, 4, 1);
+        xs = new int[tileCount];
+        ys = new int[tileCount];
+        tiles = new Tile[tileCount];
+        for (int i = 0; i < tileCount; ++i) {
+            ParsedTile tile = parsed.get(i);
+            xs[i] = tile.getX();
+            ys[i] = tile.getY();
+            tiles[i] = TileFactory.getTileFromID(tile.getTileID());
+        }
+
+        tilemap = new Tilemap(0, new Coords2D());
+        putAll();
+    }
+
+    /* Fills the whole map starting from an empty one */
+    @Benchmark
+    public Tilemap putTilemapTile() {
+        tilemap.reset();
+        putAll();
+        return tilemap;
+    }
+
+    @Benchmark
+    public void getTilemapTile(Blackhole bh) {
+        for (int i = 0; i < tileCount; ++i) {
+            bh.consume(tilemap.getTilemapTile(xs[i], ys[i]));
+        }
+    }
+
+    /* Half of the lookups land on empty cells right outside the map */
+    @Benchmark
+    public void getTilemapTileMissing(Blackhole bh) {
+        int offset = 2 * BenchmarkLevels.getRadiusFor(tileCount) + 1;
+        for (int i = 0; i < tileCount; ++i) {
+            bh.consume(tilemap.getTilemapTile(xs[i] + (i & 1) * offset, ys[i]));
+        }
+    }
+
+    private void putAll() {
+        for (int i = 0; i < tileCount; ++i) {
+            tilemap.putTilemapTile(xs[i], ys[i], tiles[i]);
+        }
+    }
+}
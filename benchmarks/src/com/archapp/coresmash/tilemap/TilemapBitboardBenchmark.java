@@ -0,0 +1,62 @@
+package com.archapp.coresmash.tilemap;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The same cut as {@link TilemapPathfinderBenchmark}, found on a bitboard with the ring already gone.
+ */
+@State(Scope.Thread)
+public class TilemapBitboardBenchmark {
+    @Param({"50", "500", "2500"})
+    int tileCount;
+
+    private TilemapBitboard bitboard;
+    private long[] plane;
+    private long[] colorPlane;
+    private int colorID;
+
+    @Setup
+    public void setup() {
+        BenchmarkLevels.silenceSounds();
+        TilemapManager tilemapManager = BenchmarkLevels.createTilemapManager(BenchmarkLevels.createDisk(tileCount, 4, 1));
+        tilemapManager.setBitboardsEnabled(true);
+        int cutDistance = Math.max(1, BenchmarkLevels.getRadiusFor(tileCount) / 2);
+
+        List<TilemapTile> cutRing = new ArrayList<>();
+        for (TilemapTile tile : tilemapManager.getTileList()) {
+            if (tile.getDistanceFromCenter() == cutDistance) {
+                cutRing.add(tile);
+            }
+        }
+        tilemapManager.removeTile(cutRing); // doesn't look for floating tiles
+
+        bitboard = tilemapManager.getLayerBitboard(0);
+        plane = bitboard.newPlane();
+        colorPlane = bitboard.newPlane();
+        colorID = tilemapManager.getCenterTileID();
+    }
+
+    @Benchmark
+    public long[] getFloating() {
+        return bitboard.getFloating(plane);
+    }
+
+    @Benchmark
+    public int countColorInDisk() {
+        bitboard.getDisk(1, 0, 4, plane);
+        bitboard.getColor(colorID, colorPlane);
+        for (int i = 0; i < plane.length; ++i) {
+            plane[i] &= colorPlane[i];
+        }
+        return TilemapBitboard.count(plane);
+    }
+}
@@ -0,0 +1,57 @@
+package com.archapp.coresmash.tilemap;
+
+import com.archapp.coresmash.animation.AnimationManager;
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.levelbuilder.ParsedTile;
+import com.badlogic.gdx.math.Vector2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class TilemapBuilderBenchmark {
+    @Param({"50", "500", "5000"})
+    int tileCount;
+
+    private TilemapManager tilemapManager;
+    private List<ParsedTile> fixedTiles;
+    private List<ParsedTile> randomTiles;
+    private Vector2 zero;
+
+    @Setup
+    public void setup() {
+        tilemapManager = new TilemapManager(new AnimationManager());
+        fixedTiles = BenchmarkLevels.createDisk(tileCount, 4, 1);
+        randomTiles = BenchmarkLevels.createRandomDisk(tileCount);
+        zero = new Vector2();
+    }
+
+    /* Tiles with fixed colors skip the color balancing */
+    @Benchmark
+    public TilemapManager buildFixed() {
+        tilemapManager.reset();
+        newLayer(1).populateFrom(fixedTiles).build();
+        return tilemapManager;
+    }
+
+    @Benchmark
+    public TilemapManager buildRandom() {
+        tilemapManager.reset();
+        newLayer(4).populateFrom(randomTiles).build();
+        return tilemapManager;
+    }
+
+    private TilemapBuilder newLayer(int colorCount) {
+        return tilemapManager.newLayer()
+                .setColorCount(colorCount)
+                .setOrigin(zero)
+                .setOffset(zero)
+                .setMinMaxRotationSpeed(10, 40, false)
+                .setMapMinMaxRotationSpeed(0, 0, false);
+    }
+}
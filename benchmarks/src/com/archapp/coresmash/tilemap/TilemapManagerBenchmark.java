@@ -0,0 +1,54 @@
+package com.archapp.coresmash.tilemap;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.levelbuilder.ParsedTile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destroys a ring of tiles halfway out, leaving everything outside of it floating, so about three
+ * quarters of the map go in a single destroyTiles(). The map gets rebuilt before every invocation.
+ */
+@State(Scope.Thread)
+public class TilemapManagerBenchmark {
+    @Param({"100", "1000", "5000"})
+    int tileCount;
+
+    private List<ParsedTile> tiles;
+    private TilemapManager tilemapManager;
+    private List<TilemapTile> cutRing;
+
+    @Setup
+    public void setup() {
+        BenchmarkLevels.silenceSounds();
+        tiles = BenchmarkLevels.createDisk(tileCount, 4, 1);
+        cutRing = new ArrayList<>();
+    }
+
+    @Setup(Level.Invocation)
+    public void buildMap() {
+        tilemapManager = BenchmarkLevels.createTilemapManager(tiles);
+        int cutDistance = Math.max(1, BenchmarkLevels.getRadiusFor(tileCount) / 2);
+
+        cutRing.clear();
+        for (TilemapTile tile : tilemapManager.getTileList()) {
+            if (tile.getDistanceFromCenter() == cutDistance) {
+                cutRing.add(tile);
+            }
+        }
+    }
+
+    @Benchmark
+    public int destroyCutRing() {
+        tilemapManager.destroyTiles(cutRing);
+        return tilemapManager.getTileList().size();
+    }
+}
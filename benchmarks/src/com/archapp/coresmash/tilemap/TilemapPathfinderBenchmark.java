@@ -0,0 +1,60 @@
+package com.archapp.coresmash.tilemap;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Thread)
+public class TilemapPathfinderBenchmark {
+    @Param({"50", "500", "5000"})
+    int tileCount;
+
+    private TilemapPathfinder pathfinder;
+    private List<TilemapTile> cutRing;
+    private List<TilemapTile> singleTile;
+    private List<TilemapTile> output;
+
+    @Setup
+    public void setup() {
+        TilemapManager tilemapManager = BenchmarkLevels.createTilemapManager(BenchmarkLevels.createDisk(tileCount, 4, 1));
+        int radius = BenchmarkLevels.getRadiusFor(tileCount);
+        int cutDistance = Math.max(1, radius / 2);
+
+        pathfinder = new TilemapPathfinder();
+        cutRing = new ArrayList<>();
+        singleTile = new ArrayList<>();
+        output = new ArrayList<>();
+
+        for (TilemapTile tile : tilemapManager.getTileList()) {
+            if (tile.getDistanceFromCenter() == cutDistance) {
+                cutRing.add(tile);
+            }
+        }
+        singleTile.add(cutRing.get(0));
+    }
+
+    /* Everything outside the ring ends up floating */
+    @Benchmark
+    public List<TilemapTile> getDestroyableTilesCutRing() {
+        output.clear();
+        output.addAll(cutRing);
+        pathfinder.getDestroyableTiles(output);
+        return output;
+    }
+
+    /* The common case where every neighbour is still connected */
+    @Benchmark
+    public List<TilemapTile> getDestroyableTilesSingle() {
+        output.clear();
+        output.addAll(singleTile);
+        pathfinder.getDestroyableTiles(output);
+        return output;
+    }
+}
@@ -0,0 +1,58 @@
+package com.archapp.coresmash.tilemap.effect;
+
+import com.archapp.coresmash.levelbuilder.BenchmarkLevels;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.tilemap.TilemapTile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gathers what a radius effect fired next to the center would hit, with and without a condition
+ * like the ColorBomb's.
+ */
+@State(Scope.Thread)
+public class HexDiskBenchmark {
+    @Param({"10", "100", "1000"})
+    int tileCount;
+
+    @Param({"2", "4"})
+    int radius;
+
+    private TilemapManager tilemapManager;
+    private List<TilemapTile> output;
+    private DestroyRadiusEffectConditional.Condition sameColor;
+
+    @Setup
+    public void setup() {
+        tilemapManager = BenchmarkLevels.createTilemapManager(BenchmarkLevels.createDisk(tileCount, 4, 1));
+        output = new ArrayList<>();
+        final int colorID = tilemapManager.getTilemapTile(0, 0, 0).getTileID();
+        sameColor = new DestroyRadiusEffectConditional.Condition() {
+            @Override
+            public boolean isConditionMet(TilemapTile tile) {
+                return tile.getTileID() == colorID;
+            }
+        };
+    }
+
+    @Benchmark
+    public List<TilemapTile> collect() {
+        output.clear();
+        HexDisk.collect(tilemapManager, 0, 1, 0, radius, null, output);
+        return output;
+    }
+
+    @Benchmark
+    public List<TilemapTile> collectConditional() {
+        output.clear();
+        HexDisk.collect(tilemapManager, 0, 1, 0, radius, sameColor, output);
+        return output;
+    }
+}
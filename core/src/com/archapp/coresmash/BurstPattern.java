@@ -0,0 +1,72 @@
+package com.archapp.coresmash;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * How the {@link Launcher} fires a volley: one entry per ball, each with the direction it leaves in
+ * and how fast it goes compared to a normal shot. Angles are in degrees, 0 being straight up and
+ * positive ones to the right.
+ */
+public class BurstPattern {
+    private final float[] directions; // x, y pairs
+    private final float[] speedScales;
+
+    public BurstPattern(int ballCount) {
+        if (ballCount <= 0) throw new RuntimeException("A burst needs at least one ball: " + ballCount);
+
+        directions = new float[ballCount * 2];
+        speedScales = new float[ballCount];
+        for (int i = 0; i < ballCount; ++i) {
+            set(i, 0, 1);
+        }
+    }
+
+    /**
+     * Spreads the balls evenly over the given arc, centered on straight up.
+     */
+    public static BurstPattern spread(int ballCount, float arcDegrees) {
+        BurstPattern pattern = new BurstPattern(ballCount);
+        if (ballCount == 1) return pattern;
+
+        float step = arcDegrees / (ballCount - 1);
+        for (int i = 0; i < ballCount; ++i) {
+            pattern.set(i, -arcDegrees / 2 + step * i, 1);
+        }
+        return pattern;
+    }
+
+    public BurstPattern set(int ball, float angleDegrees, float speedScale) {
+        return setVelocity(ball,
+                MathUtils.sinDeg(angleDegrees) * speedScale,
+                MathUtils.cosDeg(angleDegrees) * speedScale);
+    }
+
+    /**
+     * @param x,y The velocity relative to a normal shot, (0, 1) being one
+     */
+    public BurstPattern setVelocity(int ball, float x, float y) {
+        float length = (float) Math.sqrt(x * x + y * y);
+        if (length == 0) throw new RuntimeException("Ball " + ball + " wouldn't move");
+
+        directions[ball * 2] = x / length;
+        directions[ball * 2 + 1] = y / length;
+        speedScales[ball] = length;
+        return this;
+    }
+
+    public int getBallCount() {
+        return speedScales.length;
+    }
+
+    public float getDirectionX(int ball) {
+        return directions[ball * 2];
+    }
+
+    public float getDirectionY(int ball) {
+        return directions[ball * 2 + 1];
+    }
+
+    public float getSpeedScale(int ball) {
+        return speedScales[ball];
+    }
+}
@@ -136,6 +136,7 @@ public class CoreSmash extends Game {
     @Override
     public void dispose() {
         super.dispose();
+        renderManager.dispose();
         assetManager.dispose();
     }
 
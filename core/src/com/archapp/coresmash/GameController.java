@@ -1,11 +1,9 @@
 package com.archapp.coresmash;
 
 import com.archapp.coresmash.levelbuilder.LevelListParser;
-import com.archapp.coresmash.levelbuilder.LevelParser;
+import com.archapp.coresmash.levelbuilder.LevelLoader;
 import com.archapp.coresmash.levelbuilder.LevelSettings;
-import com.archapp.coresmash.levelbuilder.MapSettings;
-import com.archapp.coresmash.levelbuilder.ParsedLevel;
-import com.archapp.coresmash.levelbuilder.ParsedTile;
+import com.archapp.coresmash.levelbuilder.LoadedLevel;
 import com.archapp.coresmash.managers.CollisionDetector;
 import com.archapp.coresmash.managers.MovingBallManager;
 import com.archapp.coresmash.managers.RoundManager;
@@ -14,8 +12,8 @@ import com.archapp.coresmash.tilemap.TilemapManager;
 import com.archapp.coresmash.tilemap.TilemapTile;
 import com.archapp.coresmash.tiles.CollisionInitiator;
 import com.archapp.coresmash.tiles.MovingBall;
+import com.badlogic.gdx.math.Vector2;
 
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -34,10 +32,12 @@ public class GameController {
     private RoundManager roundManager;
     private BehaviourPack behaviourPowerPack;
     private Launcher launcher;
+    private TilemapBuilder levelBuilder;
 
 
     public GameController(TilemapManager tilemapManager, MovingBallManager movingBallManager, RoundManager roundManager, Launcher launcher) {
         collisionDetector = new CollisionDetector();
+        levelBuilder = new TilemapBuilder();
         this.movingBallManager = movingBallManager;
         this.tilemapManager = tilemapManager;
         this.roundManager = roundManager;
@@ -51,12 +51,13 @@ public class GameController {
     }
 
     public void updateCollisions() {
-        List<MovingBall> activeBalls = movingBallManager.getActiveList();
-        List<TilemapTile> ballList = tilemapManager.getTileList();
-
-        for (MovingBall mb : activeBalls) {
-            TilemapTile tileHit = collisionDetector.findCollision(ballList, mb);
+        for (int i = 0; i < movingBallManager.getActiveCount(); ++i) {
+            MovingBall mb = movingBallManager.getActiveBall(i);
+            if (mb.getFlag()) continue; // left the world
+            TilemapTile tileHit = findCollision(mb);
             if (tileHit == null) continue;
+            // Balls attached earlier this frame can close up the tile, the ball will hit one of them next
+            if (tileHit.isSurrounded()) continue;
 
             if (tileHit.getTile() instanceof CollisionInitiator) {
                 if (!((CollisionInitiator) tileHit.getTile()).handleCollisionWith(tileHit, mb, this)) {
@@ -70,14 +71,39 @@ public class GameController {
         movingBallManager.disposeInactive();
     }
 
+    private TilemapTile findCollision(MovingBall mb) {
+        switch (collisionDetector.getMode()) {
+            case LINEAR:
+                return collisionDetector.findCollision(tilemapManager.getTileList(), mb);
+            case BROADPHASE:
+                // Balls moving more than half a tile per update could skip over tiles, so they get swept
+                float step = WorldSettings.getTileSize() * .5f;
+                if (mb.getPreviousPosition().dst2(mb.getPositionInWorld()) <= step * step)
+                    return collisionDetector.findCollision(tilemapManager, mb);
+                // fall through
+            case SWEPT:
+                TilemapTile tileHit = collisionDetector.findCollisionSwept(tilemapManager, mb);
+                if (tileHit != null) {
+                    // Put the ball back where it touched so that the attach side is picked from there
+                    Vector2 impact = collisionDetector.getImpactPoint();
+                    mb.setPositionInWorld(impact.x, impact.y);
+                }
+                return tileHit;
+            default:
+                throw new RuntimeException("Unknown collision mode: " + collisionDetector.getMode());
+        }
+    }
+
     public BehaviourPack getBehaviourPack() {
         return behaviourPowerPack;
     }
 
     public void loadLevelMap(String fileName, LevelListParser.Source source) {
-        ParsedLevel parsedLevel = LevelParser.loadFrom(fileName, source);
+        loadLevel(Objects.requireNonNull(LevelLoader.loadNow(fileName, source, levelBuilder)));
+    }
 
-        LevelSettings levelSettings = Objects.requireNonNull(parsedLevel).getLevelSettings();
+    public void loadLevel(LoadedLevel level) {
+        LevelSettings levelSettings = level.getLevelSettings();
         roundManager.setLives(levelSettings.livesLimit);
         roundManager.setMoves(levelSettings.movesLimit);
         roundManager.setTime(levelSettings.timeLimit);
@@ -91,23 +117,9 @@ public class GameController {
 
         movingBallManager.setDefaultBallSpeed(levelSettings.ballSpeed);
 
-        for (int i = 0; i < parsedLevel.getMapCount(); ++i) {
-            List<ParsedTile> tileList = parsedLevel.getTiles(i);
-            MapSettings settings = parsedLevel.getMapSettings(i);
-
-            if (tileList.size() == 0) continue;
-
-            TilemapBuilder builder = tilemapManager.newLayer();
-            builder.setColorCount(settings.getColorCount())
-                    .setOffset(settings.getOffset())
-                    .setOrigin(settings.getOrigin())
-                    .setChained(settings.isChained())
-                    .setMinMaxRotationSpeed(settings.getMinSpeed(), settings.getMaxSpeed(), settings.isRotateCCW())
-                    .setMapMinMaxRotationSpeed(settings.getMinMapSpeed(), settings.getMaxMapSpeed(), false)
-                    .populateFrom(tileList)
-                    .build();
+        for (int i = 0; i < level.getLayerCount(); ++i) {
+            tilemapManager.newLayer(level.getLayer(i));
         }
-
     }
 
     public static class BehaviourPack {
@@ -0,0 +1,8 @@
+package com.archapp.coresmash;
+
+/**
+ * Receives the notifications that carry a number, see {@link NotificationType#hasIntPayload()}.
+ */
+public interface IntObserver {
+    void onNotify(NotificationType type, int value);
+}
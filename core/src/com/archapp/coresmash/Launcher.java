@@ -31,6 +31,7 @@ public class Launcher extends Observable {
 
     private boolean isLoadedWithSpecial;
     private boolean isAutoEjectEnabled;
+    private BurstPattern burstPattern;
 
 
     public Launcher(MovingBallManager movingBallManager) {
@@ -47,8 +48,12 @@ public class Launcher extends Observable {
         if (!disabled && launcherCooldownTimer == 0) {
             if (launcher.size > 0) {
                 MovingBall ball = launcher.removeFirst();
-                movingBallManager.activate(ball);
-                ((Launchable) ball.getTile()).onLaunch();
+                if (burstPattern != null && !isLoadedWithSpecial) {
+                    launchBurst(ball);
+                } else {
+                    movingBallManager.activate(ball);
+                    ((Launchable) ball.getTile()).onLaunch();
+                }
 
                 if (!isLoadedWithSpecial) {
                     if (launcher.size > 0) {
@@ -66,6 +71,23 @@ public class Launcher extends Observable {
         }
     }
 
+    /**
+     * Fires the ball along with copies of it as the pattern says. It all counts as a single launch.
+     */
+    private void launchBurst(MovingBall ball) {
+        float x = ball.getPositionInWorld().x;
+        float y = ball.getPositionInWorld().y;
+        int id = ball.getTileID();
+
+        for (int i = 0; i < burstPattern.getBallCount(); ++i) {
+            MovingBall shot = i == 0 ? ball : movingBallManager.create(x, y, id);
+            shot.setDirection(burstPattern.getDirectionX(i), burstPattern.getDirectionY(i));
+            shot.setSpeed(movingBallManager.getDefaultBallSpeed() * burstPattern.getSpeedScale(i));
+            movingBallManager.activate(shot);
+            ((Launchable) shot.getTile()).onLaunch();
+        }
+    }
+
     public void draw(RenderManager renderManager) {
         renderManager.drawLauncher(launcher, launcherPos);
     }
@@ -147,6 +169,18 @@ public class Launcher extends Observable {
         return launcherSize;
     }
 
+    /**
+     * Regular balls get fired in volleys following the pattern, null goes back to single shots.
+     * Special balls are always fired alone.
+     */
+    public void setBurstPattern(BurstPattern burstPattern) {
+        this.burstPattern = burstPattern;
+    }
+
+    public BurstPattern getBurstPattern() {
+        return burstPattern;
+    }
+
     public void setAutoEject(boolean autoEject) {
         isAutoEjectEnabled = autoEject;
     }
@@ -228,7 +262,8 @@ public class Launcher extends Observable {
         public int get() {
             int maxIndex = totalAmount;
 
-            for (MovingBall mt : movingBallManager.getActiveList()) {
+            for (int i = 0; i < movingBallManager.getActiveCount(); ++i) {
+                MovingBall mt = movingBallManager.getActiveBall(i);
                 if (!(mt.getTile() instanceof RegularTile)) continue;
 
                 int color = mt.getTileID();
@@ -4,69 +4,49 @@ import com.archapp.coresmash.tilemap.TilemapTile;
 import com.archapp.coresmash.tiles.Matchable;
 import com.archapp.coresmash.tiles.TileContainer.Side;
 
-import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Flood fills the tiles matching the color of a given tile. The fill is iterative and tiles get
+ * stamped with a fresh mark epoch instead of being collected in a visited list, so no matter how
+ * big the cluster, nothing gets allocated once the stack has grown to fit it.
+ */
 public class Match3 {
-    private ArrayList<TilemapTile> matched = new ArrayList<>();
-    private ArrayList<TilemapTile> closed = new ArrayList<>();
-
-    public ArrayList<TilemapTile> getColorMatchesFromTile(TilemapTile tile) {
-        matched.clear();
-        closed.clear();
-        addSurroundingColorMatches(tile, tile.getTileID());
-        return matched;
-    }
-
-    private void addSurroundingColorMatches(TilemapTile tmTile, int id) {
-        closed.add(tmTile);
-        matched.add(tmTile);
-
-        TilemapTile neighbour;
-        //top_left
-        neighbour = tmTile.getNeighbour(Side.TOP_LEFT);
-        if (neighbour != null && !closed.contains(neighbour)) {
-            if (isMatching(id, neighbour)) {
-                addSurroundingColorMatches(neighbour, id);
-            }
-        }
-
-        //top_right
-        neighbour = tmTile.getNeighbour(Side.TOP_RIGHT);
-        if (neighbour != null && !closed.contains(neighbour)) {
-            if (isMatching(id, neighbour)) {
-                addSurroundingColorMatches(neighbour, id);
-            }
-        }
-
-        //right
-        neighbour = tmTile.getNeighbour(Side.RIGHT);
-        if (neighbour != null && !closed.contains(neighbour)) {
-            if (isMatching(id, neighbour)) {
-                addSurroundingColorMatches(neighbour, id);
-            }
-        }
-
-        //bottom_right
-        neighbour = tmTile.getNeighbour(Side.BOTTOM_RIGHT);
-        if (neighbour != null && !closed.contains(neighbour)) {
-            if (isMatching(id, neighbour)) {
-                addSurroundingColorMatches(neighbour, id);
-            }
-        }
-
-        //bottom_left
-        neighbour = tmTile.getNeighbour(Side.BOTTOM_LEFT);
-        if (neighbour != null && !closed.contains(neighbour)) {
-            if (isMatching(id, neighbour)) {
-                addSurroundingColorMatches(neighbour, id);
-            }
-        }
-
-        //left
-        neighbour = tmTile.getNeighbour(Side.LEFT);
-        if (neighbour != null && !closed.contains(neighbour)) {
-            if (isMatching(id, neighbour)) {
-                addSurroundingColorMatches(neighbour, id);
+    private static final Side[] SIDES = Side.values();
+    private static final int VISITED = 1;
+
+    private TilemapTile[] stack = new TilemapTile[32];
+
+    /**
+     * Clears the output and fills it with the tile and all the tiles of the same color connected to it.
+     */
+    public void getColorMatchesFromTile(TilemapTile tile, List<TilemapTile> output) {
+        output.clear();
+
+        int id = tile.getTileID();
+        int epoch = TilemapTile.newMarkEpoch();
+        int size = 0;
+
+        tile.setMark(epoch, VISITED);
+        stack[size++] = tile;
+        while (size > 0) {
+            TilemapTile tmTile = stack[--size];
+            stack[size] = null;
+            output.add(tmTile);
+
+            for (Side side : SIDES) {
+                TilemapTile neighbour = tmTile.getNeighbour(side);
+                if (neighbour == null || neighbour.getMark(epoch) == VISITED) continue;
+
+                if (isMatching(id, neighbour)) {
+                    neighbour.setMark(epoch, VISITED);
+                    if (size == stack.length) {
+                        TilemapTile[] grown = new TilemapTile[size * 2];
+                        System.arraycopy(stack, 0, grown, 0, size);
+                        stack = grown;
+                    }
+                    stack[size++] = neighbour;
+                }
             }
         }
     }
@@ -3,26 +3,46 @@ package com.archapp.coresmash;
 public enum NotificationType {
     NULL,
     TILE_DESTROYED,
+    TILES_DESTROYED(true), // how many went in one go, bomb cascades included
+    ASTRONAUTS_DESTROYED(true),
     BALL_LAUNCHED,
-    TARGET_SCORE_REACHED,
+    TARGET_SCORE_REACHED(true),
     NOTIFICATION_TYPE_MOVINGTILE_COLLIDED,
     NO_COLOR_MATCH,
-    SAME_COLOR_MATCH,
+    SAME_COLOR_MATCH(true),
     NOTIFICATION_TYPE_CENTER_TILE_DESRTOYED,
     NOTIFICATION_TYPE_NEW_TILE_CREATED,
-    ASTRONAUTS_FOUND,
+    ASTRONAUTS_FOUND(true),
 
-    NOTIFICATION_TYPE_SCORE_INCREMENTED,
+    NOTIFICATION_TYPE_SCORE_INCREMENTED(true),
     NOTIFICATION_TYPE_STREAK_3X,
     NOTIFICATION_TYPE_STREAK_4X,
     NOTIFICATION_TYPE_STREAK_5X,
 
     TILEMAP_INITIALIZED,
-    LIVES_AMOUNT_CHANGED,
-    MOVES_AMOUNT_CHANGED,
+    LIVES_AMOUNT_CHANGED(true),
+    MOVES_AMOUNT_CHANGED(true),
 
-    REWARDED_MOVES,
-    REWARDED_LIVES,
+    REWARDED_MOVES(true),
+    REWARDED_LIVES(true),
     NOTIFICATION_TYPE_PATH_TO_CENTER_OBSTRUCTED,
-    COLOR_MATCHES_FINISHED,
+    COLOR_MATCHES_FINISHED;
+
+    private final boolean intPayload;
+
+    NotificationType() {
+        this(false);
+    }
+
+    NotificationType(boolean intPayload) {
+        this.intPayload = intPayload;
+    }
+
+    /**
+     * Notifications with an int payload go through {@link Observable#notifyObservers(NotificationType, int)}
+     * and reach {@link IntObserver}s without boxing.
+     */
+    public boolean hasIntPayload() {
+        return intPayload;
+    }
 }
@@ -1,29 +1,227 @@
 package com.archapp.coresmash;
 
-import java.util.LinkedList;
-
+/**
+ * Keeps a listener array per {@link NotificationType} so a notification only reaches those that
+ * asked for it. Notifications with an int payload reach {@link IntObserver}s as is; plain
+ * {@link Observer}s get them boxed.
+ * <p>
+ * Arrays get replaced instead of modified when observers come and go, so observers can be added or
+ * removed while a notification goes out and dispatching never allocates.
+ * <p>
+ * When queued, notifications are held until {@link #dispatchQueued()}, e.g. at the end of a tick.
+ */
 public class Observable {
-    private LinkedList<Observer> m_observers;
+    private static final NotificationType[] TYPES = NotificationType.values();
+    private static final Observer[] NO_OBSERVERS = new Observer[0];
+    private static final IntObserver[] NO_INT_OBSERVERS = new IntObserver[0];
+
+    private Observer[][] m_observers;
+    private IntObserver[][] m_intObservers;
+
+    private boolean queued;
+    private NotificationType[] queuedTypes;
+    private Object[] queuedObjects;
+    private int[] queuedValues;
+    private int queuedCount;
 
     public Observable() {
-        m_observers = new LinkedList<Observer>();
+        m_observers = new Observer[TYPES.length][];
+        m_intObservers = new IntObserver[TYPES.length][];
+        clearObserverList();
     }
 
     public void notifyObservers(NotificationType type, Object ob) {
-        for (Observer observ : m_observers) {
-            observ.onNotify(type, ob);
+        if (type.hasIntPayload())
+            throw new RuntimeException(type + " carries an int");
+
+        if (queued) {
+            enqueue(type, ob, 0);
+        } else {
+            send(type, ob);
+        }
+    }
+
+    public void notifyObservers(NotificationType type, int value) {
+        if (!type.hasIntPayload())
+            throw new RuntimeException(type + " doesn't carry an int");
+
+        if (queued) {
+            enqueue(type, null, value);
+        } else {
+            send(type, value);
         }
     }
 
+    /**
+     * Registers for every notification. Observers that are also IntObservers get the int ones unboxed.
+     */
     public void addObserver(Observer ob) {
-        m_observers.add(ob);
+        addObserver(ob, TYPES);
+    }
+
+    public void addObserver(Observer ob, NotificationType... types) {
+        for (NotificationType type : types) {
+            if (type.hasIntPayload() && ob instanceof IntObserver) {
+                addIntObserver((IntObserver) ob, type);
+            } else {
+                int i = type.ordinal();
+                m_observers[i] = append(m_observers[i], ob);
+            }
+        }
+    }
+
+    /**
+     * Registers for the given notifications, or every one carrying an int if none are given.
+     */
+    public void addIntObserver(IntObserver ob, NotificationType... types) {
+        if (types.length == 0) {
+            for (NotificationType type : TYPES) {
+                if (type.hasIntPayload()) addIntObserver(ob, type);
+            }
+            return;
+        }
+
+        for (NotificationType type : types) {
+            if (!type.hasIntPayload())
+                throw new RuntimeException(type + " doesn't carry an int");
+
+            int i = type.ordinal();
+            m_intObservers[i] = append(m_intObservers[i], ob);
+        }
     }
 
     public void removeObserver(Observer ob) {
-        m_observers.remove(ob);
+        for (int i = 0; i < TYPES.length; ++i) {
+            m_observers[i] = remove(m_observers[i], ob);
+        }
+        if (ob instanceof IntObserver) {
+            removeIntObserver((IntObserver) ob);
+        }
+    }
+
+    public void removeIntObserver(IntObserver ob) {
+        for (int i = 0; i < TYPES.length; ++i) {
+            m_intObservers[i] = remove(m_intObservers[i], ob);
+        }
     }
 
     public void clearObserverList() {
-        m_observers.clear();
+        for (int i = 0; i < TYPES.length; ++i) {
+            m_observers[i] = NO_OBSERVERS;
+            m_intObservers[i] = NO_INT_OBSERVERS;
+        }
+    }
+
+    /**
+     * While queued, notifications are stored in order instead of being sent right away.
+     * Turning it off doesn't send what was queued.
+     */
+    public void setQueued(boolean queued) {
+        this.queued = queued;
+        if (queued && queuedTypes == null) {
+            queuedTypes = new NotificationType[16];
+            queuedObjects = new Object[16];
+            queuedValues = new int[16];
+        }
+    }
+
+    public boolean isQueued() {
+        return queued;
+    }
+
+    /**
+     * Sends the queued notifications in the order they came in, including any that get queued
+     * while doing so.
+     */
+    public void dispatchQueued() {
+        for (int i = 0; i < queuedCount; ++i) {
+            NotificationType type = queuedTypes[i];
+            Object ob = queuedObjects[i];
+            queuedObjects[i] = null;
+
+            if (type.hasIntPayload()) {
+                send(type, queuedValues[i]);
+            } else {
+                send(type, ob);
+            }
+        }
+        queuedCount = 0;
+    }
+
+    private void send(NotificationType type, Object ob) {
+        Observer[] observers = m_observers[type.ordinal()];
+        for (int i = 0; i < observers.length; ++i) {
+            observers[i].onNotify(type, ob);
+        }
+    }
+
+    private void send(NotificationType type, int value) {
+        IntObserver[] intObservers = m_intObservers[type.ordinal()];
+        for (int i = 0; i < intObservers.length; ++i) {
+            intObservers[i].onNotify(type, value);
+        }
+
+        Observer[] observers = m_observers[type.ordinal()];
+        for (int i = 0; i < observers.length; ++i) {
+            observers[i].onNotify(type, Integer.valueOf(value));
+        }
+    }
+
+    private void enqueue(NotificationType type, Object ob, int value) {
+        if (queuedCount == queuedTypes.length) {
+            int capacity = queuedCount * 2;
+            NotificationType[] types = new NotificationType[capacity];
+            Object[] objects = new Object[capacity];
+            int[] values = new int[capacity];
+            System.arraycopy(queuedTypes, 0, types, 0, queuedCount);
+            System.arraycopy(queuedObjects, 0, objects, 0, queuedCount);
+            System.arraycopy(queuedValues, 0, values, 0, queuedCount);
+            queuedTypes = types;
+            queuedObjects = objects;
+            queuedValues = values;
+        }
+
+        queuedTypes[queuedCount] = type;
+        queuedObjects[queuedCount] = ob;
+        queuedValues[queuedCount] = value;
+        ++queuedCount;
+    }
+
+    private static Observer[] append(Observer[] array, Observer ob) {
+        Observer[] result = new Observer[array.length + 1];
+        System.arraycopy(array, 0, result, 0, array.length);
+        result[array.length] = ob;
+        return result;
+    }
+
+    private static IntObserver[] append(IntObserver[] array, IntObserver ob) {
+        IntObserver[] result = new IntObserver[array.length + 1];
+        System.arraycopy(array, 0, result, 0, array.length);
+        result[array.length] = ob;
+        return result;
+    }
+
+    private static Observer[] remove(Observer[] array, Observer ob) {
+        for (int i = 0; i < array.length; ++i) {
+            if (array[i] == ob) {
+                Observer[] result = new Observer[array.length - 1];
+                System.arraycopy(array, 0, result, 0, i);
+                System.arraycopy(array, i + 1, result, i, array.length - i - 1);
+                return result;
+            }
+        }
+        return array;
+    }
+
+    private static IntObserver[] remove(IntObserver[] array, IntObserver ob) {
+        for (int i = 0; i < array.length; ++i) {
+            if (array[i] == ob) {
+                IntObserver[] result = new IntObserver[array.length - 1];
+                System.arraycopy(array, 0, result, 0, i);
+                System.arraycopy(array, i + 1, result, i, array.length - i - 1);
+                return result;
+            }
+        }
+        return array;
     }
 }
@@ -9,7 +9,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 
-public class StreakUI implements UIComponent,Observer {
+public class StreakUI implements UIComponent, IntObserver {
     private Table root;
     private Container<Label> container;
 
@@ -33,10 +33,10 @@ public class StreakUI implements UIComponent,Observer {
     }
 
     @Override
-    public void onNotify(NotificationType type, Object ob) {
+    public void onNotify(NotificationType type, int value) {
         switch (type) {
             case NOTIFICATION_TYPE_SCORE_INCREMENTED:
-                container.getActor().setText("+" + ob.toString());
+                container.getActor().setText("+" + value);
                 container.setOrigin(container.getPrefWidth() / 2, container.getPrefHeight() / 2);
                 container.clearActions();
                 container.addAction(Actions.sequence(
@@ -3,109 +3,226 @@ package com.archapp.coresmash.animation;
 import com.archapp.coresmash.WorldSettings;
 import com.archapp.coresmash.managers.RenderManager;
 import com.archapp.coresmash.tilemap.TilemapTile;
+import com.archapp.coresmash.tiles.TileType;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Interpolation;
-import com.badlogic.gdx.utils.Pool;
-
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Plays the animations of tiles that get destroyed or attached to the Tilemap.
+ * <p>
+ * What gets played is looked up once per animation from {@link AnimationTimeline}s registered per
+ * effect and TileType, so the number of registered timelines doesn't affect the per frame cost.
+ * Animations are kept in parallel arrays that only ever grow, finished ones get swapped with the
+ * last active one and everything is timed against a single clock, so once the arrays fit the
+ * biggest burst nothing gets allocated.
+ */
 public class AnimationManager {
+    public enum Effect {
+        DESTROY,
+        ATTACH
+    }
+
     private final int BALLSIZE = WorldSettings.getTileSize();
     private final int HALFSIZE = BALLSIZE / 2;
-    private final Pool<BallAnimation> ballAnimationPool = new Pool<BallAnimation>() {
-        @Override
-        protected BallAnimation newObject() {
-            return new BallAnimation();
-        }
-    };
-    private final List<BallAnimation> activeList;
+
+    private final AnimationTimeline[][] registered;
+
+    private TilemapTile[] tiles;
+    private AnimationTimeline[] timelines;
+    private TextureRegion[] textures; // resolved on first draw
+    private float[] startTimes;
+    private int size;
+    private float clock;
 
     public AnimationManager() {
-        activeList = new ArrayList<>();
+        registered = new AnimationTimeline[Effect.values().length][TileType.values().length];
+        tiles = new TilemapTile[32];
+        timelines = new AnimationTimeline[32];
+        textures = new TextureRegion[32];
+        startTimes = new float[32];
+        registerDefaults();
+    }
+
+    /**
+     * Sets what gets played for the given effect on tiles of the given type. A null timeline
+     * disables the effect for that type.
+     */
+    public void register(Effect effect, TileType type, AnimationTimeline timeline) {
+        registered[effect.ordinal()][type.ordinal()] = timeline == null ? null : timeline.bake();
+    }
+
+    public void register(Effect effect, TileType.MajorType majorType, AnimationTimeline timeline) {
+        for (TileType type : TileType.values()) {
+            if (type.getMajorType() == majorType) {
+                register(effect, type, timeline);
+            }
+        }
     }
 
     public void update(float delta) {
-        Iterator<BallAnimation> iter = activeList.iterator();
-        while (iter.hasNext()) {
-            BallAnimation anim = iter.next();
-            anim.elapsedTime += delta;
-            if (anim.elapsedTime >= BallAnimation.DURATION) {
-                anim.tmTile.dispose();
-                iter.remove();
-                ballAnimationPool.free(anim);
+        clock += delta;
+
+        int i = 0;
+        while (i < size) {
+            AnimationTimeline timeline = timelines[i];
+            if (clock - startTimes[i] >= timeline.getDuration()) {
+                if (timeline.isDisposingTile()) {
+                    tiles[i].dispose();
+                }
+                remove(i); // the last one takes its place so check this slot again
+            } else if (!timeline.isDisposingTile() && !tiles[i].isPlaced()) {
+                remove(i); // got destroyed, which has its own animation
+            } else {
+                ++i;
             }
         }
+
+        if (size == 0) {
+            clock = 0; // keeps the clock precise
+        }
     }
 
     public void reset() {
-        Iterator<BallAnimation> iter = activeList.iterator();
-        while (iter.hasNext()) {
-            BallAnimation anim = iter.next();
-            ballAnimationPool.free(anim);
-            iter.remove();
+        for (int i = 0; i < size; ++i) {
+            tiles[i] = null;
+            timelines[i] = null;
+            textures[i] = null;
         }
+        size = 0;
+        clock = 0;
     }
 
     public void put(TilemapTile tmTile) {
-        activeList.add(ballAnimationPool.obtain().set(tmTile));
+        put(tmTile, Effect.DESTROY);
+    }
+
+    public void put(TilemapTile tmTile, Effect effect) {
         assert tmTile.getTile() != null;
+        AnimationTimeline timeline = registered[effect.ordinal()][tmTile.getTile().getTileType().ordinal()];
+        if (timeline == null) {
+            if (effect == Effect.DESTROY) {
+                tmTile.dispose();
+            }
+            return;
+        }
+
+        if (size == tiles.length) {
+            grow();
+        }
+
+        tiles[size] = tmTile;
+        timelines[size] = timeline;
+        textures[size] = null;
+        startTimes[size] = clock;
+        ++size;
+    }
+
+    public int getActiveCount() {
+        return size;
     }
 
     public void draw(RenderManager renderManager) {
         SpriteBatch batch = renderManager.getBatch();
+        Color color = batch.getColor();
+        float r = color.r, g = color.g, b = color.b, a = color.a;
+
+        for (int i = 0; i < size; ++i) {
+            TilemapTile tmTile = tiles[i];
+            AnimationTimeline timeline = timelines[i];
+            float time = clock - startTimes[i];
+            if (textures[i] == null) {
+                textures[i] = renderManager.getTextureFor(tmTile.getTileID());
+            }
+
+            if (timeline.isAnimated(AnimationTimeline.ALPHA)) {
+                batch.setColor(r, g, b, a * timeline.sample(AnimationTimeline.ALPHA, time));
+            } else {
+                batch.setColor(r, g, b, a);
+            }
 
-        for (BallAnimation anim : activeList) {
-            batch.draw(renderManager.getTextureFor(anim.getTileID()),
-                    anim.getWorldPosX() - HALFSIZE, anim.getWorldPosY() - HALFSIZE,
+            Vector2 position = renderManager.getDrawPosition(tmTile);
+            float x = position.x + timeline.sample(AnimationTimeline.OFFSET_X, time) * BALLSIZE;
+            float y = position.y + timeline.sample(AnimationTimeline.OFFSET_Y, time) * BALLSIZE;
+            float scale = timeline.sample(AnimationTimeline.SCALE, time);
+            float rotation = timeline.sample(AnimationTimeline.ROTATION, time) - renderManager.getDrawRotation(tmTile);
+            batch.draw(textures[i],
+                    x - HALFSIZE, y - HALFSIZE,
                     HALFSIZE, HALFSIZE, BALLSIZE, BALLSIZE,
-                    anim.getScale(), anim.getScale(), -(float) Math.toDegrees(anim.tmTile.getRotation())
+                    scale, scale, rotation
             );
         }
-    }
 
-    private class BallAnimation implements Pool.Poolable {
-        private static final float DURATION = .4f;
-        private static final float INCREASE_DURATION = DURATION * .4f;
-        private static final float DECREASE_DURATION = DURATION - INCREASE_DURATION;
-        private static final float SCALE_INCREASE = .5f;
-        private static final float MAX_SCALE = 1 + SCALE_INCREASE;
-
-        private TilemapTile tmTile;
-        private float elapsedTime;
+        batch.setColor(r, g, b, a);
+    }
 
-        BallAnimation() {
+    private void registerDefaults() {
+        float grow = .4f * .4f;
+        AnimationTimeline destroy = new AnimationTimeline(.4f)
+                .key(AnimationTimeline.SCALE, 0, 1)
+                .key(AnimationTimeline.SCALE, grow, 1.5f)
+                .key(AnimationTimeline.SCALE, .4f, 0, Interpolation.pow2Out);
+        for (TileType type : TileType.values()) {
+            register(Effect.DESTROY, type, destroy);
         }
 
-        public int getTileID() {
-            return tmTile.getTileID();
+        /* Astronauts drift away instead of popping */
+        register(Effect.DESTROY, TileType.MajorType.ASTRONAUT, new AnimationTimeline(.8f)
+                .key(AnimationTimeline.OFFSET_Y, 0, 0)
+                .key(AnimationTimeline.OFFSET_Y, .8f, 1.5f, Interpolation.pow2Out)
+                .key(AnimationTimeline.ROTATION, 0, 0)
+                .key(AnimationTimeline.ROTATION, .8f, -90)
+                .key(AnimationTimeline.SCALE, 0, 1)
+                .key(AnimationTimeline.SCALE, .8f, 1.2f)
+                .key(AnimationTimeline.ALPHA, .3f, 1)
+                .key(AnimationTimeline.ALPHA, .8f, 0));
+
+        register(Effect.DESTROY, TileType.BOMB_BALL, new AnimationTimeline(.35f)
+                .key(AnimationTimeline.SCALE, 0, 1)
+                .key(AnimationTimeline.SCALE, .35f, 2.2f, Interpolation.pow2Out)
+                .key(AnimationTimeline.ALPHA, .1f, 1)
+                .key(AnimationTimeline.ALPHA, .35f, 0));
+
+        AnimationTimeline attach = new AnimationTimeline(.2f)
+                .key(AnimationTimeline.SCALE, 0, 1)
+                .key(AnimationTimeline.SCALE, .08f, 1.15f, Interpolation.pow2Out)
+                .key(AnimationTimeline.SCALE, .2f, 1, Interpolation.pow2In)
+                .setDisposesTile(false);
+        for (TileType type : TileType.values()) {
+            register(Effect.ATTACH, type, attach);
         }
+    }
 
-        public float getWorldPosX() {
-            return tmTile.getPositionInWorld().x;
-        }
+    private void remove(int i) {
+        int last = --size;
+        tiles[i] = tiles[last];
+        timelines[i] = timelines[last];
+        textures[i] = textures[last];
+        startTimes[i] = startTimes[last];
+        tiles[last] = null;
+        timelines[last] = null;
+        textures[last] = null;
+    }
 
-        public float getWorldPosY() {
-            return tmTile.getPositionInWorld().y;
-        }
+    private void grow() {
+        int capacity = tiles.length * 2;
 
-        public BallAnimation set(TilemapTile tile) {
-            this.tmTile = tile;
-            return this;
-        }
+        TilemapTile[] newTiles = new TilemapTile[capacity];
+        System.arraycopy(tiles, 0, newTiles, 0, size);
+        tiles = newTiles;
 
-        public float getScale() {
-            if (elapsedTime < INCREASE_DURATION)
-                return 1 + SCALE_INCREASE * Interpolation.linear.apply(elapsedTime / INCREASE_DURATION);
+        AnimationTimeline[] newTimelines = new AnimationTimeline[capacity];
+        System.arraycopy(timelines, 0, newTimelines, 0, size);
+        timelines = newTimelines;
 
-            return MAX_SCALE * Interpolation.slowFast.apply(1 - (elapsedTime - INCREASE_DURATION) / DECREASE_DURATION);
-        }
+        TextureRegion[] newTextures = new TextureRegion[capacity];
+        System.arraycopy(textures, 0, newTextures, 0, size);
+        textures = newTextures;
 
-        @Override
-        public void reset() {
-            tmTile = null;
-            elapsedTime = 0;
-        }
+        float[] newStartTimes = new float[capacity];
+        System.arraycopy(startTimes, 0, newStartTimes, 0, size);
+        startTimes = newStartTimes;
     }
 }
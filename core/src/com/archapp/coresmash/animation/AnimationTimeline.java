@@ -0,0 +1,144 @@
+package com.archapp.coresmash.animation;
+
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * Keyframed tracks describing how a ball changes over the course of an animation.
+ * <p>
+ * Keys are only kept until {@link #bake()}, which samples every track at fixed steps into a single
+ * float array. From then on sampling is a table lookup no matter how many keys or which
+ * interpolations were used. Tracks without keys keep their default value.
+ */
+public class AnimationTimeline {
+    public static final int SCALE = 0;
+    public static final int ALPHA = 1;
+    public static final int ROTATION = 2; // degrees, added to the tile's rotation
+    public static final int OFFSET_X = 3; // in tile sizes
+    public static final int OFFSET_Y = 4; // in tile sizes
+    static final int TRACK_COUNT = 5;
+
+    private static final float[] DEFAULTS = {1, 1, 0, 0, 0};
+    private static final int SAMPLES = 64;
+    private static final int STRIDE = SAMPLES + 1;
+
+    private final float duration;
+    private final float[] samples;
+    private final boolean[] animated;
+    private boolean disposesTile;
+    private boolean baked;
+
+    private FloatArray[] keyTimes;
+    private FloatArray[] keyValues;
+    private Array<Interpolation>[] keyInterpolations;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public AnimationTimeline(float duration) {
+        if (duration <= 0) throw new RuntimeException("Duration must be positive: " + duration);
+
+        this.duration = duration;
+        samples = new float[TRACK_COUNT * STRIDE];
+        animated = new boolean[TRACK_COUNT];
+        disposesTile = true;
+
+        keyTimes = new FloatArray[TRACK_COUNT];
+        keyValues = new FloatArray[TRACK_COUNT];
+        keyInterpolations = new Array[TRACK_COUNT];
+        for (int i = 0; i < TRACK_COUNT; ++i) {
+            keyTimes[i] = new FloatArray();
+            keyValues[i] = new FloatArray();
+            keyInterpolations[i] = new Array<>();
+        }
+    }
+
+    public AnimationTimeline key(int track, float time, float value) {
+        return key(track, time, value, Interpolation.linear);
+    }
+
+    /**
+     * @param interpolation How the track gets from the previous key to this one
+     */
+    public AnimationTimeline key(int track, float time, float value, Interpolation interpolation) {
+        if (baked) throw new RuntimeException("Timeline already baked");
+        if (time < 0 || time > duration) throw new RuntimeException("Key outside of timeline: " + time);
+
+        FloatArray times = keyTimes[track];
+        if (times.size > 0 && times.peek() > time)
+            throw new RuntimeException("Keys must be added in order");
+
+        times.add(time);
+        keyValues[track].add(value);
+        keyInterpolations[track].add(interpolation);
+        animated[track] = true;
+        return this;
+    }
+
+    /**
+     * Whether the tile is done with once the animation ends. Only destroyed tiles should be disposed.
+     */
+    public AnimationTimeline setDisposesTile(boolean disposesTile) {
+        this.disposesTile = disposesTile;
+        return this;
+    }
+
+    public AnimationTimeline bake() {
+        if (baked) return this;
+
+        for (int track = 0; track < TRACK_COUNT; ++track) {
+            int offset = track * STRIDE;
+            for (int i = 0; i < STRIDE; ++i) {
+                samples[offset + i] = evaluate(track, duration * i / SAMPLES);
+            }
+        }
+
+        keyTimes = null;
+        keyValues = null;
+        keyInterpolations = null;
+        baked = true;
+        return this;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    public boolean isDisposingTile() {
+        return disposesTile;
+    }
+
+    public boolean isAnimated(int track) {
+        return animated[track];
+    }
+
+    /**
+     * Linear lookup in the baked samples. Times outside of the timeline are clamped.
+     */
+    public float sample(int track, float time) {
+        float pos = time / duration;
+        if (pos <= 0) return samples[track * STRIDE];
+        if (pos >= 1) return samples[track * STRIDE + SAMPLES];
+
+        pos *= SAMPLES;
+        int index = (int) pos;
+        int i = track * STRIDE + index;
+        return samples[i] + (samples[i + 1] - samples[i]) * (pos - index);
+    }
+
+    private float evaluate(int track, float time) {
+        FloatArray times = keyTimes[track];
+        FloatArray values = keyValues[track];
+        if (times.size == 0) return DEFAULTS[track];
+        if (time <= times.first()) return values.first();
+
+        for (int i = 1; i < times.size; ++i) {
+            if (time <= times.get(i)) {
+                float start = times.get(i - 1);
+                float length = times.get(i) - start;
+                float alpha = length == 0 ? 1 : (time - start) / length;
+                return keyInterpolations[track].get(i).apply(values.get(i - 1), values.get(i), alpha);
+            }
+        }
+        return values.peek();
+    }
+}
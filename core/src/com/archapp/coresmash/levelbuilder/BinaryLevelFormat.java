@@ -0,0 +1,169 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.archapp.coresmash.GameTarget;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Levels as written by the {@link LevelConverter}, read back in one go by {@link LevelParser}.
+ * <p>
+ * Big endian, laid out as:
+ * <pre>
+ * int magic, short version
+ * int lives, moves, time, ballSpeed, launcherSize
+ * float launcherCooldown
+ * int targetScoreOne, targetScoreTwo, targetScoreThree
+ * byte gameTargets (a bit per GameTarget ordinal), byte mapCount
+ * per map:
+ *   float originX, originY, offsetX, offsetY
+ *   int originMinSpeed, originMaxSpeed, minSpeed, maxSpeed
+ *   byte flags (1 chained, 2 rotateCCW), byte colorCount
+ *   int tileCount, then per tile: byte x, byte y, unsigned byte id
+ * </pre>
+ */
+final class BinaryLevelFormat {
+    static final String EXTENSION = ".lvl";
+    static final int MAGIC = 0x43534C56; // "CSLV"
+    static final short VERSION = 1;
+
+    private static final int FLAG_CHAINED = 1;
+    private static final int FLAG_ROTATE_CCW = 2;
+    private static final GameTarget[] TARGETS = GameTarget.values();
+
+    private BinaryLevelFormat() {
+    }
+
+    static void write(ParsedLevel level, FileHandle file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            LevelSettings settings = level.getLevelSettings();
+            out.writeInt(settings.livesLimit);
+            out.writeInt(settings.movesLimit);
+            out.writeInt(settings.timeLimit);
+            out.writeInt(settings.ballSpeed);
+            out.writeInt(settings.launcherSize);
+            out.writeFloat(settings.launcherCooldown);
+            out.writeInt(settings.targetScores.one);
+            out.writeInt(settings.targetScores.two);
+            out.writeInt(settings.targetScores.three);
+
+            int targets = 0;
+            for (GameTarget target : settings.targets) {
+                targets |= 1 << target.ordinal();
+            }
+            out.writeByte(targets);
+
+            List<Integer> maps = new ArrayList<>();
+            for (int i = 0; i < level.getMapCount(); ++i) {
+                if (level.getTiles(i).size() > 0) maps.add(i);
+            }
+            out.writeByte(maps.size());
+
+            for (int i : maps) {
+                MapSettings map = level.getMapSettings(i);
+                out.writeFloat(map.origin.x);
+                out.writeFloat(map.origin.y);
+                out.writeFloat(map.offset.x);
+                out.writeFloat(map.offset.y);
+                out.writeInt(map.minMapSpeed);
+                out.writeInt(map.maxMapSpeed);
+                out.writeInt(map.minSpeed);
+                out.writeInt(map.maxSpeed);
+                out.writeByte((map.chained ? FLAG_CHAINED : 0) | (map.rotateCCW ? FLAG_ROTATE_CCW : 0));
+                out.writeByte(map.colorCount);
+
+                List<ParsedTile> tiles = level.getTiles(i);
+                out.writeInt(tiles.size());
+                for (ParsedTile tile : tiles) {
+                    if (tile.x != (byte) tile.x || tile.y != (byte) tile.y || tile.tileID >>> 8 != 0)
+                        throw new RuntimeException("Tile doesn't fit: " + tile.tileID + " at " + tile.x + "," + tile.y);
+
+                    out.writeByte(tile.x);
+                    out.writeByte(tile.y);
+                    out.writeByte(tile.tileID);
+                }
+            }
+        }
+    }
+
+    static ParsedLevel read(byte[] data) {
+        try {
+            ParsedLevel output = new ParsedLevel();
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            readLevelSettings(buffer, output.levelSettings);
+
+            int mapCount = buffer.get() & 0xFF;
+            for (int index = 0; index < mapCount; ++index) {
+                MapSettings map = new MapSettings();
+                output.mapSettings.add(map);
+
+                map.origin.set(buffer.getFloat(), buffer.getFloat());
+                map.offset.set(buffer.getFloat(), buffer.getFloat());
+                map.minMapSpeed = buffer.getInt();
+                map.maxMapSpeed = buffer.getInt();
+                map.minSpeed = buffer.getInt();
+                map.maxSpeed = buffer.getInt();
+                int flags = buffer.get();
+                map.chained = (flags & FLAG_CHAINED) != 0;
+                map.rotateCCW = (flags & FLAG_ROTATE_CCW) != 0;
+                map.colorCount = buffer.get();
+
+                int tileCount = buffer.getInt();
+                List<ParsedTile> tiles = new ArrayList<>(tileCount);
+                output.mapTiles.add(tiles);
+                for (int i = 0; i < tileCount; ++i) {
+                    ParsedTile tile = new ParsedTile();
+                    tile.tilemapID = index;
+                    tile.x = buffer.get();
+                    tile.y = buffer.get();
+                    tile.tileID = buffer.get() & 0xFF;
+                    tiles.add(tile);
+                }
+            }
+            return output;
+        } catch (BufferUnderflowException e) {
+            throw new RuntimeException("Level file is cut short", e);
+        }
+    }
+
+    /**
+     * Reads only the level settings, for when the layers aren't needed.
+     */
+    static void readLevelSettings(byte[] data, LevelSettings output) {
+        try {
+            readLevelSettings(ByteBuffer.wrap(data), output);
+        } catch (BufferUnderflowException e) {
+            throw new RuntimeException("Level file is cut short", e);
+        }
+    }
+
+    private static void readLevelSettings(ByteBuffer buffer, LevelSettings output) {
+        if (buffer.getInt() != MAGIC) throw new RuntimeException("Not a level file");
+        short version = buffer.getShort();
+        if (version != VERSION) throw new RuntimeException("Unsupported level version: " + version);
+
+        output.livesLimit = buffer.getInt();
+        output.movesLimit = buffer.getInt();
+        output.timeLimit = buffer.getInt();
+        output.ballSpeed = buffer.getInt();
+        output.launcherSize = buffer.getInt();
+        output.launcherCooldown = buffer.getFloat();
+        output.targetScores.one = buffer.getInt();
+        output.targetScores.two = buffer.getInt();
+        output.targetScores.three = buffer.getInt();
+
+        int targets = buffer.get();
+        for (GameTarget target : TARGETS) {
+            if ((targets & 1 << target.ordinal()) != 0) output.targets.add(target);
+        }
+    }
+}
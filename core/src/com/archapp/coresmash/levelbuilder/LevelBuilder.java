@@ -34,6 +34,7 @@ final public class LevelBuilder {
         levelSettings = new LevelSettings();
         mapSettings = new ArrayList<>();
         map = new Map();
+        map.setLazyPositions(true); // never updated, tiles get placed when drawn
 
         map.newLayer();
         mapSettings.add(new MapSettings());
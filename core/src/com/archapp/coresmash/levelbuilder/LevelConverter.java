@@ -0,0 +1,85 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns XML levels into the binary format, which the game reads instead whenever it's there,
+ * and writes the {@link LevelIndex} of the converted levels along with them.
+ * <p>
+ * Run through {@code gradlew desktop:convertLevels}, which writes them where the android build
+ * packages them from in place of the XML ones. Otherwise, with the folder of the levels and
+ * optionally one to write to, by default a {@code _binary} folder next to the levels.
+ */
+public final class LevelConverter {
+    private LevelConverter() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args.length > 2) {
+            System.out.println("Usage: LevelConverter <levels dir> [output dir]");
+            System.exit(1);
+        }
+
+        FileHandle from = new FileHandle(args[0]);
+        FileHandle to = args.length == 2 ? new FileHandle(args[1]) : from.sibling(from.name() + "_binary");
+        System.out.println("Converted " + convertAll(from, to) + " levels to " + to.path());
+    }
+
+    /**
+     * @return how many levels got converted
+     */
+    public static int convertAll(FileHandle from, FileHandle to) {
+        if (!from.isDirectory()) throw new RuntimeException("Not a directory: " + from.path());
+        to.mkdirs();
+
+        List<LevelIndex.Entry> converted = new ArrayList<>();
+        for (FileHandle file : from.list(".xml")) {
+            if (file.name().startsWith("_editor_")) continue;
+
+            LevelIndex.Entry entry = convertLevel(file, to.child(file.nameWithoutExtension() + BinaryLevelFormat.EXTENSION));
+            if (entry != null) {
+                converted.add(entry);
+            } else {
+                System.out.println("Skipped " + file.name() + ": no tiles");
+            }
+        }
+
+        try {
+            LevelIndex.create(from.child("level_list"), converted).write(to.child(LevelIndex.FILE_NAME));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return converted.size();
+    }
+
+    /**
+     * @return false if there's no level in the file
+     */
+    public static boolean convert(FileHandle xml, FileHandle output) {
+        return convertLevel(xml, output) != null;
+    }
+
+    private static LevelIndex.Entry convertLevel(FileHandle xml, FileHandle output) {
+        ParsedLevel level = LevelParser.loadFromXml(xml);
+
+        boolean hasTiles = false;
+        for (int i = 0; i < level.getMapCount(); ++i) {
+            if (level.getTiles(i).size() > 0) {
+                hasTiles = true;
+                break;
+            }
+        }
+        if (!hasTiles) return null;
+
+        try {
+            BinaryLevelFormat.write(level, output);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return LevelIndex.createEntry(xml.nameWithoutExtension(), LevelIndex.hash(output.readBytes()), level);
+    }
+}
@@ -0,0 +1,261 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.archapp.coresmash.GameTarget;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What the campaign needs to know about each level without parsing it: target scores, game
+ * targets and tile count, along with a hash of the level's file.
+ * <p>
+ * The index is keyed on a hash of the level list along with the hashes of the level files. It
+ * gets written with the binary levels by the {@link LevelConverter}, builds that don't ship one
+ * build it on first launch and keep it in local storage. Every load hashes the level files, which
+ * is cheap next to parsing them, and rebuilds the index if the key doesn't match, keeping the
+ * entries of the levels whose files still hash the same.
+ */
+public final class LevelIndex {
+    static final String FILE_NAME = "level_index";
+    private static final int MAGIC = 0x43534C49; // "CSLI"
+    private static final short VERSION = 1;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final GameTarget[] TARGETS = GameTarget.values();
+
+    private final long key;
+    private final ObjectMap<String, Entry> entries;
+
+    private LevelIndex(long key) {
+        this.key = key;
+        entries = new ObjectMap<>();
+    }
+
+    /**
+     * The index of the internal levels, rebuilt if it's missing or out of date.
+     */
+    public static LevelIndex load(Iterable<String> levelNames) {
+        ObjectMap<String, Long> hashes = new ObjectMap<>();
+        for (String name : levelNames) {
+            FileHandle file = Gdx.files.internal("levels/" + name + BinaryLevelFormat.EXTENSION);
+            if (!file.exists()) file = Gdx.files.internal("levels/" + name + ".xml");
+            if (!file.exists()) continue;
+
+            hashes.put(name, hash(file.readBytes()));
+        }
+        long key = createKey(Gdx.files.internal("levels/level_list"), hashes);
+
+        LevelIndex packaged = read(Gdx.files.internal("levels/" + FILE_NAME));
+        if (packaged != null && packaged.key == key) return packaged;
+
+        FileHandle cacheFile = Gdx.files.local(FILE_NAME);
+        LevelIndex cached = read(cacheFile);
+        if (cached != null && cached.key == key) return cached;
+
+        LevelIndex index = new LevelIndex(key);
+        for (String name : hashes.keys()) {
+            long hash = hashes.get(name);
+            Entry entry = getUnchanged(cached, name, hash);
+            if (entry == null) entry = getUnchanged(packaged, name, hash);
+            if (entry == null) {
+                entry = createEntry(name, hash, LevelParser.loadFrom(name, LevelListParser.Source.INTERNAL));
+            }
+            index.entries.put(name, entry);
+        }
+
+        try {
+            index.write(cacheFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return index;
+    }
+
+    /**
+     * @return null if there's no index there or it can't be read
+     */
+    static LevelIndex read(FileHandle file) {
+        if (!file.exists()) return null;
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.readBytes()))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) return null;
+
+            LevelIndex index = new LevelIndex(in.readLong());
+            for (int i = 0, n = in.readInt(); i < n; ++i) {
+                String name = in.readUTF();
+                long hash = in.readLong();
+                LevelParser.TargetScore targetScore = new LevelParser.TargetScore();
+                targetScore.one = in.readInt();
+                targetScore.two = in.readInt();
+                targetScore.three = in.readInt();
+                int targets = in.readByte();
+                EnumSet<GameTarget> gameTargets = EnumSet.noneOf(GameTarget.class);
+                for (GameTarget target : TARGETS) {
+                    if ((targets & 1 << target.ordinal()) != 0) gameTargets.add(target);
+                }
+                int tileCount = in.readInt();
+
+                index.entries.put(name, new Entry(name, hash, targetScore, gameTargets, tileCount));
+            }
+            return index;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    static LevelIndex create(FileHandle levelList, Iterable<Entry> entries) {
+        ObjectMap<String, Long> hashes = new ObjectMap<>();
+        for (Entry entry : entries) {
+            hashes.put(entry.name, entry.hash);
+        }
+
+        LevelIndex index = new LevelIndex(createKey(levelList, hashes));
+        for (Entry entry : entries) {
+            index.entries.put(entry.name, entry);
+        }
+        return index;
+    }
+
+    /* The level list followed by the name and hash of every level, in order of name */
+    private static long createKey(FileHandle levelList, ObjectMap<String, Long> hashes) {
+        Array<String> names = hashes.keys().toArray();
+        names.sort();
+
+        long key = levelList.exists() ? hash(levelList.readBytes()) : FNV_OFFSET;
+        for (String name : names) {
+            key = hash(key, name.getBytes(Charset.forName("UTF-8")));
+            long hash = hashes.get(name);
+            for (int shift = 0; shift < 64; shift += 8) {
+                key = (key ^ (hash >>> shift & 0xFF)) * FNV_PRIME;
+            }
+        }
+        return key;
+    }
+
+    /* The entry of the level if the index has one for the same file */
+    private static Entry getUnchanged(LevelIndex index, String name, long hash) {
+        if (index == null) return null;
+        Entry entry = index.get(name);
+        return entry != null && entry.hash == hash ? entry : null;
+    }
+
+    static Entry createEntry(String name, long hash, ParsedLevel level) {
+        LevelSettings settings = level.getLevelSettings();
+        LevelParser.TargetScore targetScore = new LevelParser.TargetScore();
+        targetScore.set(settings.targetScores);
+
+        EnumSet<GameTarget> gameTargets = EnumSet.noneOf(GameTarget.class);
+        gameTargets.addAll(settings.targets);
+        if (gameTargets.isEmpty())
+            gameTargets.add(GameTarget.SCORE); // Default to score if none set
+
+        int tileCount = 0;
+        for (int i = 0; i < level.getMapCount(); ++i) {
+            tileCount += level.getTiles(i).size();
+        }
+        return new Entry(name, hash, targetScore, gameTargets, tileCount);
+    }
+
+    void write(FileHandle file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(key);
+            out.writeInt(entries.size);
+            for (Entry entry : entries.values()) {
+                out.writeUTF(entry.name);
+                out.writeLong(entry.hash);
+                out.writeInt(entry.targetScore.one);
+                out.writeInt(entry.targetScore.two);
+                out.writeInt(entry.targetScore.three);
+                int targets = 0;
+                for (GameTarget target : entry.gameTargets) {
+                    targets |= 1 << target.ordinal();
+                }
+                out.writeByte(targets);
+                out.writeInt(entry.tileCount);
+            }
+        }
+    }
+
+    /* 64-bit FNV-1a */
+    static long hash(byte[] data) {
+        return hash(FNV_OFFSET, data);
+    }
+
+    /* Carries on hashing from a previous hash */
+    private static long hash(long hash, byte[] data) {
+        for (byte b : data) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * @return null if the level isn't indexed
+     */
+    public Entry get(String name) {
+        return entries.get(name);
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    public static final class Entry {
+        private final String name;
+        private final long hash;
+        private final LevelParser.TargetScore targetScore;
+        private final Set<GameTarget> gameTargets;
+        private final int tileCount;
+
+        Entry(String name, long hash, LevelParser.TargetScore targetScore, EnumSet<GameTarget> gameTargets, int tileCount) {
+            this.name = name;
+            this.hash = hash;
+            this.targetScore = targetScore;
+            this.gameTargets = Collections.unmodifiableSet(gameTargets);
+            this.tileCount = tileCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        public int getTargetScoreOne() {
+            return targetScore.one;
+        }
+
+        public int getTargetScoreTwo() {
+            return targetScore.two;
+        }
+
+        public int getTargetScoreThree() {
+            return targetScore.three;
+        }
+
+        public Set<GameTarget> getGameTargets() {
+            return gameTargets;
+        }
+
+        public int getTileCount() {
+            return tileCount;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.archapp.coresmash.tilemap.LayerBlueprint;
+import com.archapp.coresmash.tilemap.TilemapBuilder;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a level and works out its layers on a thread of its own, so that the render thread is
+ * only left with putting the tiles in place through {@link com.archapp.coresmash.GameController#loadLevel(LoadedLevel)}.
+ * <p>
+ * Levels are loaded one at a time in the order they were asked for.
+ */
+public class LevelLoader implements Disposable {
+    private final AsyncExecutor executor;
+    private final TilemapBuilder builder; // Only used from the executor's thread
+
+    public LevelLoader() {
+        executor = new AsyncExecutor(1);
+        builder = new TilemapBuilder();
+    }
+
+    public Task load(final String fileName, final LevelListParser.Source source) {
+        if (source == null) throw new RuntimeException("Source is required!");
+
+        final Task task = new Task();
+        executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                try {
+                    task.result = load(fileName, source, builder, task);
+                } catch (RuntimeException e) {
+                    task.error = e;
+                } finally {
+                    task.done = true;
+                }
+                return null;
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Loads the level on the calling thread.
+     *
+     * @return null if the level doesn't exist
+     */
+    public static LoadedLevel loadNow(String fileName, LevelListParser.Source source, TilemapBuilder builder) {
+        return load(fileName, source, builder, null);
+    }
+
+    private static LoadedLevel load(String fileName, LevelListParser.Source source, TilemapBuilder builder, Task task) {
+        ParsedLevel parsedLevel = LevelParser.loadFrom(fileName, source);
+        if (parsedLevel == null) return null;
+
+        List<Integer> maps = new ArrayList<>();
+        for (int i = 0; i < parsedLevel.getMapCount(); ++i) {
+            if (parsedLevel.getTiles(i).size() > 0) maps.add(i);
+        }
+
+        int steps = maps.size() + 1;
+        if (task != null) task.progress = 1f / steps;
+
+        List<LayerBlueprint> layers = new ArrayList<>(maps.size());
+        for (int i = 0; i < maps.size(); ++i) {
+            MapSettings settings = parsedLevel.getMapSettings(maps.get(i));
+
+            builder.startNewBlueprint();
+            layers.add(builder.setColorCount(settings.getColorCount())
+                    .setOffset(settings.getOffset())
+                    .setOrigin(settings.getOrigin())
+                    .setChained(settings.isChained())
+                    .setMinMaxRotationSpeed(settings.getMinSpeed(), settings.getMaxSpeed(), settings.isRotateCCW())
+                    .setMapMinMaxRotationSpeed(settings.getMinMapSpeed(), settings.getMaxMapSpeed(), false)
+                    .populateFrom(parsedLevel.getTiles(maps.get(i)))
+                    .buildBlueprint());
+
+            if (task != null) task.progress = (i + 2f) / steps;
+        }
+
+        return new LoadedLevel(fileName, parsedLevel.getLevelSettings(), layers);
+    }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+    }
+
+    public static class Task {
+        private volatile float progress;
+        private volatile boolean done;
+        private LoadedLevel result;
+        private RuntimeException error;
+
+        private Task() {
+        }
+
+        /**
+         * From 0 to 1, parsing counts as much as working out a layer.
+         */
+        public float getProgress() {
+            return progress;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * @return the level, or null if it doesn't exist
+         * @throws RuntimeException whatever went wrong while loading
+         */
+        public LoadedLevel get() {
+            if (!done) throw new RuntimeException("Still loading");
+            if (error != null) throw error;
+            return result;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.archapp.coresmash.GameTarget;
 import com.archapp.coresmash.tilemap.Map;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.utils.Pool;
 
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
@@ -50,15 +49,6 @@ public final class LevelParser {
     static final String TAG_CONTENT = "content";
     static final String TAG_BALL = "ball";
 
-    private static Pool<ParsedTile> parsedTilePool = new Pool<ParsedTile>() {
-        @Override
-        protected ParsedTile newObject() {
-            return new ParsedTile();
-        }
-    };
-    private static ParsedLevel parsedLevel = new ParsedLevel();
-    private static LevelInfo levelInfo = new LevelInfo();
-
     public static boolean saveAs(String name, Map map, LevelSettings levelSettings, MapSettings[] mapSettings) {
         int maxTilemaps = map.layerCount();
 
@@ -140,16 +130,35 @@ public final class LevelParser {
             e.printStackTrace();
             return false;
         }
+
+        // A binary copy would be loaded instead of what was just saved
+        file.sibling(name + BinaryLevelFormat.EXTENSION).delete();
         return true;
     }
 
+    /**
+     * Reads the XML level in the given file, regardless of a binary one next to it.
+     */
+    static ParsedLevel loadFromXml(FileHandle file) {
+        return parseXml(file);
+    }
+
     public static ParsedLevel loadFrom(String filename, LevelListParser.Source source) {
         if (source == null) throw new RuntimeException("Source is required!");
 
+        FileHandle binary = getBinaryLevelFileHandle(filename, source);
+        if (binary.exists()) {
+            return BinaryLevelFormat.read(binary.readBytes());
+        }
+
         FileHandle file = getLevelFileHandle(filename, source);
         if (!file.exists()) return null;
 
-        parsedLevel.reset();
+        return parseXml(file);
+    }
+
+    private static ParsedLevel parseXml(FileHandle file) {
+        ParsedLevel parsedLevel = new ParsedLevel();
         XmlPullParser parser = XmlManager.getParser();
         Objects.requireNonNull(parser);
 
@@ -162,10 +171,10 @@ public final class LevelParser {
                     case XmlPullParser.START_TAG:
                         switch (name) {
                             case TAG_LEVEL_SETTINGS:
-                                parseLevelSettings(parser);
+                                parseLevelSettings(parser, parsedLevel);
                                 break;
                             case TAG_MAP_SETTINGS:
-                                parseMapSettings(parser);
+                                parseMapSettings(parser, parsedLevel);
                                 break;
                         }
                         break;
@@ -184,7 +193,7 @@ public final class LevelParser {
         return parsedLevel;
     }
 
-    private static void parseLevelSettings(XmlPullParser parser) throws IOException, XmlPullParserException {
+    private static void parseLevelSettings(XmlPullParser parser, ParsedLevel parsedLevel) throws IOException, XmlPullParserException {
         int type;
         String name;
         do {
@@ -259,7 +268,7 @@ public final class LevelParser {
         } while (!name.equals(TAG_LEVEL_SETTINGS));
     }
 
-    private static void parseMapSettings(XmlPullParser parser) throws IOException, XmlPullParserException {
+    private static void parseMapSettings(XmlPullParser parser, ParsedLevel parsedLevel) throws IOException, XmlPullParserException {
         int type;
         String name;
 
@@ -276,13 +285,13 @@ public final class LevelParser {
                         parsedLevel.mapSettings.add(new MapSettings());
                         parsedLevel.mapTiles.add(new ArrayList<ParsedTile>());
                     }
-                    parseMap(parser, mapIndex++);
+                    parseMap(parser, parsedLevel, mapIndex++);
                 }
             }
         } while (!name.equals(TAG_MAP_SETTINGS));
     }
 
-    private static void parseMap(XmlPullParser parser, int index) throws IOException, XmlPullParserException {
+    private static void parseMap(XmlPullParser parser, ParsedLevel parsedLevel, int index) throws IOException, XmlPullParserException {
         if (index == parsedLevel.mapSettings.size())
             throw new IndexOutOfBoundsException("Index was: " + index);
 
@@ -347,7 +356,7 @@ public final class LevelParser {
 
                             if (type == XmlPullParser.START_TAG) {
                                 if (name.equals(TAG_BALL)) {
-                                    ParsedTile tile = parsedTilePool.obtain();
+                                    ParsedTile tile = new ParsedTile();
 
                                     tile.tilemapID = index;
                                     tile.tileID = Integer.parseInt(parser.getAttributeValue(0));
@@ -376,10 +385,34 @@ public final class LevelParser {
         return file;
     }
 
+    private static FileHandle getBinaryLevelFileHandle(String filename, LevelListParser.Source source) {
+        FileHandle file = getLevelFileHandle(filename, source);
+        return file.sibling(filename + BinaryLevelFormat.EXTENSION);
+    }
+
+    /* The level settings of a binary level, null if there's only the XML */
+    private static LevelSettings readBinaryLevelSettings(String filename, LevelListParser.Source source) {
+        FileHandle binary = getBinaryLevelFileHandle(filename, source);
+        if (!binary.exists()) return null;
+
+        LevelSettings settings = new LevelSettings();
+        BinaryLevelFormat.readLevelSettings(binary.readBytes(), settings);
+        return settings;
+    }
+
     //------------
 
     public static LevelInfo getLevelInfo(String filename, LevelListParser.Source source) {
-        levelInfo.reset();
+        LevelInfo levelInfo = new LevelInfo();
+
+        LevelSettings binary = readBinaryLevelSettings(filename, source);
+        if (binary != null) {
+            levelInfo.targetScores.set(binary.targetScores);
+            levelInfo.gameTargets.addAll(binary.targets);
+            if (levelInfo.gameTargets.isEmpty())
+                levelInfo.gameTargets.add(GameTarget.SCORE);
+            return levelInfo;
+        }
 
         FileHandle file = getLevelFileHandle(filename, source);
         if (!file.exists()) return null;
@@ -443,6 +476,13 @@ public final class LevelParser {
     }
 
     public static TargetScore getTargetScore(String filename, LevelListParser.Source source) {
+        LevelSettings binary = readBinaryLevelSettings(filename, source);
+        if (binary != null) {
+            TargetScore targetScore = new TargetScore();
+            targetScore.set(binary.targetScores);
+            return targetScore;
+        }
+
         FileHandle file = getLevelFileHandle(filename, source);
         if (!file.exists()) return null;
 
@@ -503,11 +543,6 @@ public final class LevelParser {
             targetScores = new TargetScore();
             gameTargets = EnumSet.noneOf(GameTarget.class);
         }
-
-        void reset() {
-            targetScores.reset();
-            gameTargets.clear();
-        }
     }
 
     public static class TargetScore {
@@ -0,0 +1,117 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.archapp.coresmash.tilemap.Tilemap;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What the {@link LevelValidator} found in a level. Counts are of the tiles as the builder laid
+ * them out, random tiles already turned into balls and astronauts.
+ */
+public class LevelReport {
+    private final String fileName;
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    int layerCount;
+    int tileCount;
+    int randomCount; // before building
+    int astronautCount;
+    int specialCount;
+    final int[] colorCounts = new int[Tilemap.COLOR_COUNT];
+    final IntArray ringCounts = new IntArray();
+    long buildTime;
+
+    LevelReport(String fileName) {
+        this.fileName = fileName;
+    }
+
+    void error(String message) {
+        errors.add(message);
+    }
+
+    void warning(String message) {
+        warnings.add(message);
+    }
+
+    void addToRing(int distance) {
+        while (ringCounts.size <= distance) ringCounts.add(0);
+        ringCounts.incr(distance, 1);
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public int getLayerCount() {
+        return layerCount;
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    public int getTileCountOfColor(int color) {
+        return colorCounts[color];
+    }
+
+    /**
+     * @return how many tiles are that far from the center of their layer
+     */
+    public int getTileCountOnRing(int distance) {
+        return distance < ringCounts.size ? ringCounts.get(distance) : 0;
+    }
+
+    public int getRingCount() {
+        return ringCounts.size;
+    }
+
+    /**
+     * @return The time in nanoseconds the builder took to balance and lay out every layer
+     */
+    public long getBuildTime() {
+        return buildTime;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ENGLISH,
+                "%s: %s%n  %d layers, %d tiles (%d random, %d astronauts, %d special), built in %.3fms%n",
+                fileName, errors.isEmpty() ? (warnings.isEmpty() ? "OK" : "warnings") : "ERRORS",
+                layerCount, tileCount, randomCount, astronautCount, specialCount, buildTime / 1e6));
+
+        sb.append("  colors:");
+        for (int count : colorCounts) {
+            sb.append(' ').append(count);
+        }
+        sb.append(String.format("%n  rings:"));
+        for (int i = 0; i < ringCounts.size; ++i) {
+            sb.append(' ').append(ringCounts.get(i));
+        }
+        sb.append(String.format("%n"));
+
+        for (String error : errors) {
+            sb.append("  error: ").append(error).append(String.format("%n"));
+        }
+        for (String warning : warnings) {
+            sb.append("  warning: ").append(warning).append(String.format("%n"));
+        }
+        return sb.toString();
+    }
+}
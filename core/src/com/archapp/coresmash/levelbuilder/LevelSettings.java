@@ -43,5 +43,6 @@ public class LevelSettings {
         launcherSize = DEFAULT_LAUNCHER_SIZE;
         launcherCooldown = DEFAULT_LAUNCHER_CD;
         targetScores.reset();
+        targets.clear();
     }
 }
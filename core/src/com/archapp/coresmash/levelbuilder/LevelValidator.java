@@ -0,0 +1,327 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.archapp.coresmash.GameTarget;
+import com.archapp.coresmash.tilemap.LayerBlueprint;
+import com.archapp.coresmash.tilemap.Tilemap;
+import com.archapp.coresmash.tilemap.TilemapBuilder;
+import com.archapp.coresmash.tiles.TileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Goes through a folder of levels without playing them, looking for tile IDs the game doesn't
+ * know, a missing center tile and tiles of chained layers that aren't connected to their layer's
+ * center, which would drop with the first match. Along the way it counts the tiles per color and
+ * per ring and times the builder balancing each level.
+ * <p>
+ * Levels get checked in parallel with a builder per thread. Run through
+ * {@code gradlew desktop:validateLevels}, or with {@code [-threads N] [-report file] [levels dir]}.
+ * Exits with 1 if any level has errors.
+ */
+public final class LevelValidator {
+    /* x,y offsets of the six neighbours of a cell */
+    private static final int[] NEIGHBOURS = {1, 0, -1, 0, 0, 1, -1, 1, 0, -1, 1, -1};
+
+    private static final ThreadLocal<TilemapBuilder> builder = new ThreadLocal<TilemapBuilder>() {
+        @Override
+        protected TilemapBuilder initialValue() {
+            return new TilemapBuilder();
+        }
+    };
+
+    private LevelValidator() {
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        String reportPath = "level_report.txt";
+        String levelsPath = "levels";
+
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "-threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "-report":
+                        reportPath = args[++i];
+                        break;
+                    default:
+                        levelsPath = args[i];
+                }
+            }
+        } catch (RuntimeException e) {
+            threads = 0;
+        }
+
+        FileHandle folder = new FileHandle(levelsPath);
+        if (threads < 1 || !folder.isDirectory()) {
+            System.out.println("Usage: LevelValidator [-threads N] [-report file] [levels dir]");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        List<LevelReport> reports = validateAll(folder, threads);
+        float wallTime = (System.nanoTime() - start) / 1e9f;
+
+        int withErrors = 0;
+        int withWarnings = 0;
+        for (LevelReport report : reports) {
+            if (report.hasErrors()) {
+                ++withErrors;
+                System.out.print(report.getFileName() + ": ");
+                System.out.println(report.getErrors().get(0));
+            }
+            if (!report.getWarnings().isEmpty()) ++withWarnings;
+        }
+
+        String summary = String.format(Locale.ENGLISH,
+                "Validated %d levels in %.2fs on %d threads: %d with errors, %d with warnings",
+                reports.size(), wallTime, threads, withErrors, withWarnings);
+        FileHandle reportFile = new FileHandle(reportPath);
+        writeReport(summary, reports, reportFile);
+        System.out.println(summary);
+        System.out.println("Report written to " + reportFile.path());
+        System.exit(withErrors > 0 ? 1 : 0);
+    }
+
+    /**
+     * Checks every level in the folder, spread over the given number of threads. Levels with both
+     * an XML and a binary file get checked once, going by the binary one like the game does.
+     *
+     * @return a report per level, sorted by file name
+     */
+    public static List<LevelReport> validateAll(FileHandle folder, int threads) {
+        if (!folder.isDirectory()) throw new RuntimeException("Not a directory: " + folder.path());
+
+        ObjectMap<String, FileHandle> levels = new ObjectMap<>();
+        for (FileHandle file : folder.list()) {
+            String name = file.name();
+            if (name.startsWith("_editor_")) continue;
+            if (name.endsWith(BinaryLevelFormat.EXTENSION)) {
+                levels.put(file.nameWithoutExtension(), file);
+            } else if (name.endsWith(".xml") && !levels.containsKey(file.nameWithoutExtension())) {
+                levels.put(file.nameWithoutExtension(), file);
+            }
+        }
+
+        List<FileHandle> files = new ArrayList<>();
+        for (FileHandle file : levels.values()) {
+            files.add(file);
+        }
+        Collections.sort(files, new Comparator<FileHandle>() {
+            @Override
+            public int compare(FileHandle o1, FileHandle o2) {
+                return o1.name().compareTo(o2.name());
+            }
+        });
+
+        AsyncExecutor executor = new AsyncExecutor(threads);
+        try {
+            List<AsyncResult<LevelReport>> results = new ArrayList<>(files.size());
+            for (final FileHandle file : files) {
+                results.add(executor.submit(new AsyncTask<LevelReport>() {
+                    @Override
+                    public LevelReport call() {
+                        return validate(file, builder.get());
+                    }
+                }));
+            }
+
+            List<LevelReport> reports = new ArrayList<>(results.size());
+            for (AsyncResult<LevelReport> result : results) {
+                reports.add(result.get());
+            }
+            return reports;
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    public static LevelReport validate(FileHandle file, TilemapBuilder builder) {
+        LevelReport report = new LevelReport(file.name());
+
+        ParsedLevel level;
+        try {
+            level = file.name().endsWith(BinaryLevelFormat.EXTENSION) ?
+                    BinaryLevelFormat.read(file.readBytes()) :
+                    LevelParser.loadFromXml(file);
+        } catch (RuntimeException e) {
+            report.error("Can't be read: " + e.getMessage());
+            return report;
+        }
+
+        // Empty maps get skipped when loading, so layers are numbered the way the game sees them
+        for (int i = 0; i < level.getMapCount(); ++i) {
+            if (level.getTiles(i).isEmpty()) continue;
+            validateLayer(report.layerCount++, level.getMapSettings(i), level.getTiles(i), builder, report);
+        }
+
+        if (report.layerCount == 0) {
+            report.error("No tiles");
+            return report;
+        }
+
+        LevelSettings settings = level.getLevelSettings();
+        LevelParser.TargetScore scores = settings.targetScores;
+        if (scores.one > scores.two || scores.two > scores.three)
+            report.warning("Target scores aren't in order: " + scores.one + ", " + scores.two + ", " + scores.three);
+        if (settings.targets.contains(GameTarget.ASTRONAUTS) && report.astronautCount == 0)
+            report.warning("Astronauts are a target but there are none");
+
+        return report;
+    }
+
+    private static void validateLayer(int layer, MapSettings settings, List<ParsedTile> tiles, TilemapBuilder builder, LevelReport report) {
+        boolean canBuild = true;
+        if (settings.colorCount < 1 || settings.colorCount > Tilemap.COLOR_COUNT) {
+            report.error("Layer " + layer + ": invalid color count " + settings.colorCount);
+            canBuild = false;
+        }
+
+        List<TileType> placeables = TileType.getAllPlaceables();
+        IntSet cells = new IntSet(tiles.size());
+        for (ParsedTile tile : tiles) {
+            TileType type = null;
+            try {
+                type = TileType.getTileTypeFromID(tile.tileID);
+            } catch (RuntimeException ignored) {
+            }
+            if (type == null || !placeables.contains(type)) {
+                report.error("Layer " + layer + ": invalid tile ID " + tile.tileID + " at " + tile.x + "," + tile.y);
+                canBuild = false;
+            } else if (type == TileType.RANDOM_REGULAR || type == TileType.RANDOM_ASTRONAUT) {
+                ++report.randomCount;
+            }
+
+            if (!cells.add(cell(tile.x, tile.y)))
+                report.error("Layer " + layer + ": more than one tile at " + tile.x + "," + tile.y);
+        }
+
+        boolean hasCenter = cells.contains(cell(0, 0));
+        if (layer == 0 && !hasCenter) {
+            report.error("Layer 0: no center tile");
+        } else if (settings.chained) {
+            int unreachable = hasCenter ? cells.size - countConnected(cells) : cells.size;
+            if (unreachable > 0)
+                report.error("Layer " + layer + ": " + unreachable + " tiles not connected to the center");
+        }
+
+        if (!canBuild) return;
+
+        LayerBlueprint blueprint;
+        long start = System.nanoTime();
+        try {
+            builder.startNewBlueprint();
+            blueprint = builder.setColorCount(settings.getColorCount())
+                    .setOffset(settings.getOffset())
+                    .setOrigin(settings.getOrigin())
+                    .setChained(settings.isChained())
+                    .setMinMaxRotationSpeed(settings.getMinSpeed(), settings.getMaxSpeed(), settings.isRotateCCW())
+                    .setMapMinMaxRotationSpeed(settings.getMinMapSpeed(), settings.getMaxMapSpeed(), false)
+                    .populateFrom(tiles)
+                    .buildBlueprint();
+        } catch (RuntimeException e) {
+            report.error("Layer " + layer + ": builder failed: " + e.getMessage());
+            return;
+        } finally {
+            report.buildTime += System.nanoTime() - start;
+        }
+
+        for (int i = 0; i < blueprint.getTileCount(); ++i) {
+            int id = blueprint.getTileID(i);
+            if (id < Tilemap.COLOR_COUNT) {
+                ++report.colorCounts[id];
+            } else if (TileType.getTileTypeFromID(id).getMajorType() == TileType.MajorType.ASTRONAUT) {
+                ++report.astronautCount;
+            } else {
+                ++report.specialCount;
+            }
+            report.addToRing(Tilemap.getTileDistance(blueprint.getX(i), blueprint.getY(i), 0, 0));
+        }
+        report.tileCount += blueprint.getTileCount();
+    }
+
+    /* Flood from 0,0 through the occupied cells */
+    private static int countConnected(IntSet cells) {
+        IntSet reached = new IntSet(cells.size);
+        IntArray open = new IntArray();
+        reached.add(cell(0, 0));
+        open.add(0);
+        open.add(0);
+
+        while (open.size > 0) {
+            int y = open.pop();
+            int x = open.pop();
+            for (int i = 0; i < NEIGHBOURS.length; i += 2) {
+                int nx = x + NEIGHBOURS[i];
+                int ny = y + NEIGHBOURS[i + 1];
+                int key = cell(nx, ny);
+                if (cells.contains(key) && reached.add(key)) {
+                    open.add(nx);
+                    open.add(ny);
+                }
+            }
+        }
+        return reached.size;
+    }
+
+    private static int cell(int x, int y) {
+        return x << 16 | y & 0xFFFF;
+    }
+
+    private static void writeReport(String summary, List<LevelReport> reports, FileHandle file) {
+        int[] colors = new int[Tilemap.COLOR_COUNT];
+        IntArray rings = new IntArray();
+        long buildTime = 0;
+        LevelReport slowest = null;
+        for (LevelReport report : reports) {
+            for (int i = 0; i < colors.length; ++i) {
+                colors[i] += report.getTileCountOfColor(i);
+            }
+            for (int i = 0; i < report.getRingCount(); ++i) {
+                if (i == rings.size) rings.add(0);
+                rings.incr(i, report.getTileCountOnRing(i));
+            }
+            buildTime += report.getBuildTime();
+            if (slowest == null || report.getBuildTime() > slowest.getBuildTime()) slowest = report;
+        }
+
+        try (Writer writer = file.writer(false)) {
+            writer.write(summary);
+            writer.write(String.format(Locale.ENGLISH, "%nBuilder time: %.1fms in total", buildTime / 1e6));
+            if (slowest != null) {
+                writer.write(String.format(Locale.ENGLISH, ", slowest %s at %.3fms",
+                        slowest.getFileName(), slowest.getBuildTime() / 1e6));
+            }
+            writer.write(String.format("%nColors:"));
+            for (int count : colors) {
+                writer.write(" " + count);
+            }
+            writer.write(String.format("%nRings:"));
+            for (int i = 0; i < rings.size; ++i) {
+                writer.write(" " + rings.get(i));
+            }
+            writer.write(String.format("%n%n"));
+
+            for (LevelReport report : reports) {
+                writer.write(report.toString());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.archapp.coresmash.levelbuilder;
+
+import com.archapp.coresmash.tilemap.LayerBlueprint;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A level as handed out by the {@link LevelLoader}, with its layers already worked out.
+ * The settings aren't shared with anything else, but they aren't meant to be changed either.
+ */
+public final class LoadedLevel {
+    private final String name;
+    private final LevelSettings levelSettings;
+    private final List<LayerBlueprint> layers;
+
+    LoadedLevel(String name, LevelSettings levelSettings, List<LayerBlueprint> layers) {
+        this.name = name;
+        this.levelSettings = levelSettings;
+        this.layers = Collections.unmodifiableList(layers);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LevelSettings getLevelSettings() {
+        return levelSettings;
+    }
+
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    public LayerBlueprint getLayer(int layer) {
+        return layers.get(layer);
+    }
+}
@@ -1,8 +1,12 @@
 package com.archapp.coresmash.levelbuilder;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * A level as read from its file. Every parse gives a new one, nothing in it is shared.
+ */
 public class ParsedLevel {
     LevelSettings levelSettings;
     List<MapSettings> mapSettings;
@@ -28,18 +32,6 @@ public class ParsedLevel {
     }
 
     public List<ParsedTile> getTiles(int layer) {
-        return mapTiles.get(layer);
-    }
-
-    void reset() {
-        levelSettings.reset();
-
-        for (MapSettings map : mapSettings) {
-            map.reset();
-        }
-
-        for (List tileList : mapTiles) {
-            tileList.clear();
-        }
+        return Collections.unmodifiableList(mapTiles.get(layer));
     }
 }
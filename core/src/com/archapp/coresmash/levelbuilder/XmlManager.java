@@ -17,24 +17,34 @@ import java.io.Writer;
 import static org.xmlpull.v1.XmlPullParser.NO_NAMESPACE;
 
 
-/* Maybe this should not be a static class in the future for multithreading? */
+/* Every thread gets a parser and a serializer of its own, kept for the next file it goes through */
 public final class XmlManager {
-    private static XmlSerializer serializer = new KXmlSerializer();
-    private static XmlPullParser parser = new KXmlParser();
+    private static final ThreadLocal<XmlSerializer> serializer = new ThreadLocal<XmlSerializer>() {
+        @Override
+        protected XmlSerializer initialValue() {
+            return new KXmlSerializer();
+        }
+    };
+    private static final ThreadLocal<XmlPullParser> parser = new ThreadLocal<XmlPullParser>() {
+        @Override
+        protected XmlPullParser initialValue() {
+            return new KXmlParser();
+        }
+    };
 
     private XmlManager() {
     }
 
     static <P> void createElement(String name, P value) throws IOException {
-        serializer.startTag(NO_NAMESPACE, name).text(String.valueOf(value)).endTag(NO_NAMESPACE, name);
+        serializer.get().startTag(NO_NAMESPACE, name).text(String.valueOf(value)).endTag(NO_NAMESPACE, name);
     }
 
     public static XmlSerializer getSerializer() {
-        return serializer;
+        return serializer.get();
     }
 
     public static XmlPullParser getParser() {
-        return parser;
+        return parser.get();
     }
 
     public static boolean fileExists(String name) {
@@ -44,6 +54,7 @@ public final class XmlManager {
 
     static IntMap<String> loadLevelNames() {
         FileHandle file = Gdx.files.external("/CoreSmash/level_list.xml");
+        XmlPullParser parser = getParser();
         try (Reader reader = file.reader()) {
             parser.setInput(reader);
             int type = parser.getEventType();
@@ -71,6 +82,7 @@ public final class XmlManager {
 
     static void saveLevelNames(IntMap<String> nameList) {
         FileHandle file = Gdx.files.external("/CoreSmash/level_list.xml");
+        XmlSerializer serializer = getSerializer();
 
         try (Writer writer = file.writer(false)) {
             serializer.setOutput(writer);
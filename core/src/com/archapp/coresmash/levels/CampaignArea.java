@@ -1,8 +1,7 @@
 package com.archapp.coresmash.levels;
 
 import com.archapp.coresmash.UserAccount;
-import com.archapp.coresmash.levelbuilder.LevelListParser;
-import com.archapp.coresmash.levelbuilder.LevelParser;
+import com.archapp.coresmash.levelbuilder.LevelIndex;
 import com.archapp.coresmash.ui.UIUtils;
 import com.badlogic.gdx.scenes.scene2d.ui.Container;
 import com.badlogic.gdx.scenes.scene2d.ui.HorizontalGroup;
@@ -53,7 +52,7 @@ abstract class CampaignArea {
     }
 
     /* levelButtonList MUST be sorted! */
-    public void updateLevelStars(IntMap<String> levels, UserAccount userAccount) {
+    public void updateLevelStars(IntMap<String> levels, LevelIndex levelIndex, UserAccount userAccount) {
 
         for (int i = 1, n = userAccount.getUnlockedLevels(); i <= n; ++i) {
             LevelButton levelButton = levelButtonList.get(i);
@@ -62,12 +61,13 @@ abstract class CampaignArea {
             String fileName = levels.get(i);
             if (fileName == null || fileName.isEmpty()) continue;
 
-            int highscore = userAccount.getHighscoreForLevel(levelButton.level);
-            LevelParser.TargetScore targetScore = LevelParser.getTargetScore(fileName, LevelListParser.Source.INTERNAL);
+            LevelIndex.Entry entry = levelIndex.get(fileName);
+            if (entry == null) continue;
 
-            if (highscore < targetScore.three) {
-                if (highscore < targetScore.two) {
-                    if (highscore < targetScore.one) {
+            int highscore = userAccount.getHighscoreForLevel(levelButton.level);
+            if (highscore < entry.getTargetScoreThree()) {
+                if (highscore < entry.getTargetScoreTwo()) {
+                    if (highscore < entry.getTargetScoreOne()) {
                         levelButton.setStars(0);
                     } else {
                         levelButton.setStars(1);
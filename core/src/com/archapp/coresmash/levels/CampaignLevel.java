@@ -18,7 +18,7 @@ public abstract class CampaignLevel extends Level {
 
     @Override
     public void initialize(GameController gameController) {
-        gameController.getBehaviourPack().roundManager.setLevel(level, user.getUnlockedLevels());
+        gameController.getBehaviourPack().roundManager.setLevel(level, user.getUnlockedLevels(), user.getHighscoreForLevel(level));
     }
 
     public UserAccount getUser() {
@@ -9,9 +9,11 @@ import com.archapp.coresmash.PropertyChangeListener;
 import com.archapp.coresmash.RoundEndListener;
 import com.archapp.coresmash.UserAccount;
 import com.archapp.coresmash.WorldSettings;
+import com.archapp.coresmash.levelbuilder.LevelIndex;
 import com.archapp.coresmash.levelbuilder.LevelListParser;
 import com.archapp.coresmash.levelbuilder.LevelListParser.RegisteredLevel;
-import com.archapp.coresmash.levelbuilder.LevelParser;
+import com.archapp.coresmash.levelbuilder.LevelLoader;
+import com.archapp.coresmash.levelbuilder.LoadedLevel;
 import com.archapp.coresmash.levels.CampaignArea.LevelButton;
 import com.archapp.coresmash.managers.RoundManager.GameStats;
 import com.archapp.coresmash.platform.AdManager;
@@ -69,6 +71,7 @@ import com.badlogic.gdx.utils.IntMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Random;
 
 import static com.archapp.coresmash.CurrencyType.GOLD_BAR;
@@ -86,9 +89,16 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
     private IntMap<LevelButton> levelButtons;
     private LevelListParser levelListParser;
     private IntMap<String> levels;
+    private LevelIndex levelIndex;
     private RewardsPerLevelManager rewardsManager;
     private Annotator annotator;
     private Stack rootStack;
+    private LevelLoader levelLoader;
+    private LevelLoader.Task pendingLevel;
+    private int pendingLevelNumber;
+    private List<Powerup> pendingPowerups;
+    private int shownProgress;
+    private Container<Label> loadingIndicator;
 
     public CampaignScreen(CoreSmash game) {
         super(game);
@@ -100,6 +110,7 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
         annotator = new Annotator(skin);
 
         levelListParser = new LevelListParser();
+        levelLoader = new LevelLoader();
         levels = new IntMap<>();
 
         powerupPickDialog = new PickPowerUpsDialog(skin, gameInstance.getUserAccount().getSpecialBallsAvailable());
@@ -161,6 +172,10 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
 
         rootStack.addActor(uiRightBar.root);
 
+        loadingIndicator = new Container<>(new Label("", skin, "h4"));
+        loadingIndicator.setVisible(false);
+        rootStack.addActor(loadingIndicator);
+
         levelButtons = area1.getLevelButtonList();
         for (int i = gameInstance.getUserAccount().getUnlockedLevels() + 1;
              i <= levelButtons.size;
@@ -175,7 +190,8 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
             levels.put(lvl.num, lvl.name);
         }
 
-        area1.updateLevelStars(levels, gameInstance.getUserAccount());
+        levelIndex = LevelIndex.load(levels.values());
+        area1.updateLevelStars(levels, levelIndex, gameInstance.getUserAccount());
     }
 
     @Override
@@ -185,6 +201,9 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
         if (!heartManager.isFull())
             uiRightBar.heartButton.updateTimeTillNextHeart();
 
+        if (pendingLevel != null)
+            updatePendingLevel();
+
         stage.act();
         stage.draw();
     }
@@ -198,25 +217,53 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
                 gameScreen.deployLevel(new TutorialLevel(lvl, gameInstance.getUserAccount(), this, annotator));
                 break;
             default:
-                gameScreen.deployLevel(new CampaignLevel(lvl, gameInstance.getUserAccount(), this) {
-                    @Override
-                    public void initialize(GameController controller) {
-                        super.initialize(controller);
-                        controller.loadLevelMap(fileName, LevelListParser.Source.INTERNAL);
-                        for (Powerup powerup : powerups) {
-                            controller.getBehaviourPack().roundManager.enablePowerup(powerup.type, powerup.count);
-                        }
-                    }
-
-                    @Override
-                    public void update(float delta, GameController.BehaviourPack behaviourPack, GameScreen.GameUI gameUI) {
-
-                    }
-                });
+                if (pendingLevel != null) return;
+
+                pendingLevel = levelLoader.load(fileName, LevelListParser.Source.INTERNAL);
+                pendingLevelNumber = lvl;
+                pendingPowerups = new ArrayList<>(powerups);
+                shownProgress = -1;
+                loadingIndicator.setVisible(true);
+                rootStack.setTouchable(Touchable.disabled);
         }
         heartManager.consumeHeart();
     }
 
+    /* The level gets parsed and laid out off the render thread, it is deployed once that's done */
+    private void updatePendingLevel() {
+        if (!pendingLevel.isDone()) {
+            int progress = (int) (pendingLevel.getProgress() * 100);
+            if (progress != shownProgress) {
+                shownProgress = progress;
+                loadingIndicator.getActor().setText(String.format(Locale.ENGLISH, "Loading... %d%%", progress));
+            }
+            return;
+        }
+
+        final LoadedLevel level = Objects.requireNonNull(pendingLevel.get());
+        final List<Powerup> powerups = pendingPowerups;
+        pendingLevel = null;
+        pendingPowerups = null;
+        loadingIndicator.setVisible(false);
+        rootStack.setTouchable(Touchable.enabled);
+
+        gameScreen.deployLevel(new CampaignLevel(pendingLevelNumber, gameInstance.getUserAccount(), this) {
+            @Override
+            public void initialize(GameController controller) {
+                super.initialize(controller);
+                controller.loadLevel(level);
+                for (Powerup powerup : powerups) {
+                    controller.getBehaviourPack().roundManager.enablePowerup(powerup.type, powerup.count);
+                }
+            }
+
+            @Override
+            public void update(float delta, GameController.BehaviourPack behaviourPack, GameScreen.GameUI gameUI) {
+
+            }
+        });
+    }
+
     public void updateInfo() {
         uiUserPanel.updateValues();
     }
@@ -231,6 +278,11 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
         Components.clearToasts();
     }
 
+    @Override
+    public void dispose() {
+        levelLoader.dispose();
+    }
+
     @Override
     public void onRoundEnded(GameStats stats) {
         gameInstance.getUserAccount().saveStats(stats);
@@ -823,11 +875,11 @@ public class CampaignScreen extends ScreenBase implements RoundEndListener {
             levelToLaunch = lvl;
             levelLabel.setText("Level " + lvl);
 
-            LevelParser.LevelInfo levelInfo = LevelParser.getLevelInfo(levels.get(lvl), LevelListParser.Source.INTERNAL);
+            LevelIndex.Entry levelInfo = levelIndex.get(levels.get(lvl));
             targetLabel.setText("");
-            if (levelInfo.gameTargets.contains(GameTarget.SCORE))
-                targetLabel.setText("Collect " + levelInfo.targetScores.one + " points\n");
-            if (levelInfo.gameTargets.contains(GameTarget.ASTRONAUTS))
+            if (levelInfo.getGameTargets().contains(GameTarget.SCORE))
+                targetLabel.setText("Collect " + levelInfo.getTargetScoreOne() + " points\n");
+            if (levelInfo.getGameTargets().contains(GameTarget.ASTRONAUTS))
                 targetLabel.setText(targetLabel.getText() + "Save all Astronauts");
 
             super.show(stage, null);
@@ -2,10 +2,13 @@ package com.archapp.coresmash.managers;
 
 import com.archapp.coresmash.WorldSettings;
 import com.archapp.coresmash.tilemap.Tilemap;
+import com.archapp.coresmash.tilemap.TilemapManager;
 import com.archapp.coresmash.tilemap.TilemapTile;
 import com.archapp.coresmash.tiles.MovingBall;
 import com.archapp.coresmash.tiles.TileContainer;
+import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -13,15 +16,28 @@ import java.util.Comparator;
 import java.util.List;
 
 public class CollisionDetector {
+    /* Axial offsets around the cell the ball falls in that it can still touch. getWorldToTilemapCoords()
+     * doesn't do a proper hex rounding so the cell can be one off, which is why it's two rings and not one.
+     */
+    private static final int[] PROBE_OFFSETS = generateProbeOffsets(2);
+
     private ArrayList<DistanceSideStruct> m_collisionDisSide;
     private TileContainer.Side[] m_closestSidesOutput;
     private Comparator<DistanceSideStruct> m_disSideComp;
     private Vector2 distance;
     private Vector2 direction;
+    private Vector3 layerCoords;
+    private Vector2 sweepStart;
+    private Vector2 impactPoint;
+    private Mode mode;
 
     public CollisionDetector() {
+        mode = Mode.BROADPHASE;
         direction = new Vector2();
         distance = new Vector2();
+        layerCoords = new Vector3();
+        sweepStart = new Vector2();
+        impactPoint = new Vector2();
         m_collisionDisSide = new ArrayList<>(6);
         for (int i = 0; i < 6; ++i) {
             m_collisionDisSide.add(new DistanceSideStruct());
@@ -37,10 +53,16 @@ public class CollisionDetector {
         m_closestSidesOutput = new TileContainer.Side[6];
     }
 
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
     public TilemapTile findCollision(List<TilemapTile> tilemapTileList, MovingBall ball) {
-        int sideHalf = WorldSettings.getTileSize() / 2;
-        //XXX(HACK): Arbitrary value to decrease range and match better the texture
-        float minDist = sideHalf + sideHalf * ball.getScale() * 0.8f;
+        float minDist = getCollisionDistance(ball);
 
         for (TilemapTile tmTile : tilemapTileList) {
             distance.set(tmTile.getPositionInWorld()).sub(ball.getPositionInWorld());
@@ -51,6 +73,114 @@ public class CollisionDetector {
         return null;
     }
 
+    /**
+     * Broadphase version of {@link #findCollision(List, MovingBall)}. Layers whose bounding radius
+     * the ball can't reach are skipped and for the rest, only the cells around the ball's position
+     * in the layer's (rotated) frame are tested. If more than one tile is hit, the closest is returned.
+     */
+    public TilemapTile findCollision(TilemapManager tmm, MovingBall ball) {
+        float minDist = getCollisionDistance(ball);
+        // The hit test is a box, so the farthest hit lies on its corner
+        float maxReach = minDist * 1.415f;
+        Vector2 ballPos = ball.getPositionInWorld();
+
+        TilemapTile closest = null;
+        float closestDist = Float.MAX_VALUE;
+
+        for (int layer = 0; layer < tmm.layerCount(); ++layer) {
+            if (tmm.getLayerTileCount(layer) == 0) continue;
+
+            float reach = tmm.getLayerBoundingRadius(layer) + maxReach;
+            if (Vector2.dst2(ballPos.x, ballPos.y, tmm.getLayerPositionX(layer), tmm.getLayerPositionY(layer)) > reach * reach)
+                continue;
+
+            layerCoords.set(ballPos.x, ballPos.y, 0);
+            tmm.getWorldToLayerCoords(layer, layerCoords);
+            int x = (int) layerCoords.x;
+            int y = (int) layerCoords.y;
+
+            for (int i = 0; i < PROBE_OFFSETS.length; i += 2) {
+                TilemapTile tmTile = tmm.getTilemapTile(layer, x + PROBE_OFFSETS[i], y + PROBE_OFFSETS[i + 1]);
+                if (tmTile == null) continue;
+
+                distance.set(tmTile.getPositionInWorld()).sub(ballPos);
+                if (Math.abs(distance.x) <= minDist && Math.abs(distance.y) <= minDist) {
+                    float dist = distance.len2();
+                    if (dist < closestDist) {
+                        closestDist = dist;
+                        closest = tmTile;
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Sweeps the ball from its previous to its current position and returns the first tile it
+     * touches along the way, so fast balls can't skip over tiles. The sweep is done in each layer's
+     * frame: the start of the segment is carried along with the layer's last move, which also catches
+     * tiles that rotated into the ball's path. The ball is treated as a circle here instead of a box.
+     * <p>
+     * On a hit, {@link #getImpactPoint()} is where along the segment the ball first touched the tile.
+     */
+    public TilemapTile findCollisionSwept(TilemapManager tmm, MovingBall ball) {
+        float minDist = getCollisionDistance(ball);
+        float minDist2 = minDist * minDist;
+        // Keeps every tile the ball could touch in between two samples within the probed cells
+        float sampleStep = WorldSettings.getTileSize() * .5f;
+        Vector2 end = ball.getPositionInWorld();
+
+        TilemapTile closest = null;
+        float closestTime = Float.MAX_VALUE;
+
+        for (int layer = 0; layer < tmm.layerCount(); ++layer) {
+            if (tmm.getLayerTileCount(layer) == 0) continue;
+
+            sweepStart.set(ball.getPreviousPosition());
+            tmm.applyLayerLastMove(layer, sweepStart);
+
+            float segX = end.x - sweepStart.x;
+            float segY = end.y - sweepStart.y;
+            float segLen2 = segX * segX + segY * segY;
+
+            float reach = tmm.getLayerBoundingRadius(layer) + minDist;
+            if (Intersector.distanceSegmentPoint(sweepStart.x, sweepStart.y, end.x, end.y,
+                    tmm.getLayerPositionX(layer), tmm.getLayerPositionY(layer)) > reach)
+                continue;
+
+            int samples = (int) (Math.sqrt(segLen2) / sampleStep) + 1;
+            for (int sample = 0; sample <= samples; ++sample) {
+                float t = (float) sample / samples;
+                layerCoords.set(sweepStart.x + segX * t, sweepStart.y + segY * t, 0);
+                tmm.getWorldToLayerCoords(layer, layerCoords);
+                int x = (int) layerCoords.x;
+                int y = (int) layerCoords.y;
+
+                for (int i = 0; i < PROBE_OFFSETS.length; i += 2) {
+                    TilemapTile tmTile = tmm.getTilemapTile(layer, x + PROBE_OFFSETS[i], y + PROBE_OFFSETS[i + 1]);
+                    if (tmTile == null) continue;
+
+                    float toi = getTimeOfImpact(sweepStart, segX, segY, segLen2, tmTile.getPositionInWorld(), minDist2);
+                    if (toi < closestTime) {
+                        closestTime = toi;
+                        closest = tmTile;
+                        impactPoint.set(sweepStart.x + segX * toi, sweepStart.y + segY * toi);
+                    }
+                }
+            }
+        }
+
+        return closest;
+    }
+
+    /**
+     * Where the ball was when the last swept hit happened.
+     */
+    public Vector2 getImpactPoint() {
+        return impactPoint;
+    }
+
     public TilemapTile findCollision(Tilemap tm, MovingBall moveTile) {
         int sideHalf = WorldSettings.getTileSize() / 2;
         //XXX(HACK): Arbitrary value to decrease range and match better the texture
@@ -129,6 +259,53 @@ public class CollisionDetector {
         return direction;
     }
 
+    private static int[] generateProbeOffsets(int radius) {
+        int count = 3 * radius * (radius + 1) + 1;
+        int[] result = new int[count * 2];
+        int i = 0;
+        for (int x = -radius; x <= radius; ++x) {
+            for (int y = -radius; y <= radius; ++y) {
+                if (Tilemap.getTileDistance(x, y, 0, 0) <= radius) {
+                    result[i++] = x;
+                    result[i++] = y;
+                }
+            }
+        }
+        return result;
+    }
+
+    /* Returns Float.MAX_VALUE if the segment never comes within the distance of the point */
+    private float getTimeOfImpact(Vector2 start, float segX, float segY, float segLen2, Vector2 point, float dist2) {
+        float fromX = start.x - point.x;
+        float fromY = start.y - point.y;
+        float c = fromX * fromX + fromY * fromY - dist2;
+        if (c <= 0) return 0; // Already touching
+
+        if (segLen2 == 0) return Float.MAX_VALUE;
+
+        float b = fromX * segX + fromY * segY;
+        float discriminant = b * b - segLen2 * c;
+        if (b >= 0 || discriminant < 0) return Float.MAX_VALUE;
+
+        float t = (-b - (float) Math.sqrt(discriminant)) / segLen2;
+        return t <= 1 ? t : Float.MAX_VALUE;
+    }
+
+    private float getCollisionDistance(MovingBall ball) {
+        int sideHalf = WorldSettings.getTileSize() / 2;
+        //XXX(HACK): Arbitrary value to decrease range and match better the texture
+        return sideHalf + sideHalf * ball.getScale() * 0.8f;
+    }
+
+    public enum Mode {
+        /** Tests the ball against every tile in the list it's given */
+        LINEAR,
+        /** Tests the ball only against the tiles around it, on each layer it can reach */
+        BROADPHASE,
+        /** Tests the path the ball travelled in its last update and keeps the first hit */
+        SWEPT
+    }
+
     private class DistanceSideStruct {
         public float distance;
         public TileContainer.Side side;
@@ -0,0 +1,224 @@
+package com.archapp.coresmash.managers;
+
+import com.archapp.coresmash.themes.AbstractTheme;
+import com.archapp.coresmash.tilemap.Tilemap;
+import com.archapp.coresmash.tilemap.TilemapTile;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.List;
+
+/**
+ * Draws a whole Tilemap layer with a single draw call.
+ * <p>
+ * Every layer gets a static mesh holding the quads of its tiles relative to the layer's position,
+ * before any rotation. The mesh is only rebuilt when tiles are placed or removed; on every other
+ * frame the layer's position and rotation are handed to the shader as uniforms.
+ */
+class LayerMeshRenderer implements Disposable {
+    private static final int FLOATS_PER_VERTEX = 4;
+    private static final int FLOATS_PER_TILE = FLOATS_PER_VERTEX * 4;
+    /* Indices are shorts */
+    private static final int MAX_TILES = Short.MAX_VALUE * 2 / 4;
+
+    private static final String VERTEX_SHADER = ""
+            + "attribute vec2 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "uniform vec2 u_layerPosition;\n"
+            + "uniform vec2 u_layerRotation;\n" // cos, sin
+            + "varying vec2 v_texCoords;\n"
+            + "\n"
+            + "void main() {\n"
+            + "   vec2 local = " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "   vec2 world = u_layerPosition + vec2(\n"
+            + "         local.x * u_layerRotation.x + local.y * u_layerRotation.y,\n"
+            + "         local.y * u_layerRotation.x - local.x * u_layerRotation.y);\n"
+            + "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "   gl_Position = u_projTrans * vec4(world, 0.0, 1.0);\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "uniform vec4 u_tint;\n"
+            + "\n"
+            + "void main() {\n"
+            + "   gl_FragColor = u_tint * texture2D(u_texture, v_texCoords);\n"
+            + "}\n";
+
+    private final ShaderProgram shader;
+    private final ObjectMap<Tilemap, LayerMesh> layerMeshes;
+    private final float sideLengthHalf;
+    private float[] vertices;
+
+    LayerMeshRenderer(float sideLength) {
+        sideLengthHalf = sideLength / 2;
+        layerMeshes = new ObjectMap<>();
+        vertices = new float[0];
+
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            Gdx.app.error("LayerMeshRenderer", shader.getLog());
+        }
+    }
+
+    boolean isAvailable() {
+        return shader.isCompiled();
+    }
+
+    /**
+     * Draws the layer unless its tiles don't share a texture or are too many for a single mesh.
+     * Must be called outside of a SpriteBatch begin/end.
+     *
+     * @return Whether the layer was drawn
+     */
+    boolean draw(Tilemap tm, AbstractTheme theme, Matrix4 projection, Color tint, int blendSrc, int blendDst, float interpolation) {
+        LayerMesh layerMesh = layerMeshes.get(tm);
+        if (layerMesh == null) {
+            layerMesh = new LayerMesh();
+            layerMeshes.put(tm, layerMesh);
+        }
+
+        if (layerMesh.tilesVersion != tm.getTilesVersion() || layerMesh.theme != theme) {
+            rebuild(layerMesh, tm, theme);
+        }
+        if (layerMesh.texture == null) return false;
+        if (layerMesh.tileCount == 0) return true;
+
+        float x = tm.getPositionX();
+        float y = tm.getPositionY();
+        float rotation = tm.getRotation();
+        if (interpolation != 1) {
+            x = tm.getPreviousPositionX() + (x - tm.getPreviousPositionX()) * interpolation;
+            y = tm.getPreviousPositionY() + (y - tm.getPreviousPositionY()) * interpolation;
+            rotation = tm.getPreviousRotation() + (rotation - tm.getPreviousRotation()) * interpolation;
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(blendSrc, blendDst);
+        layerMesh.texture.bind();
+        shader.begin();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        shader.setUniformf("u_tint", tint);
+        shader.setUniformf("u_layerPosition", x, y);
+        shader.setUniformf("u_layerRotation", (float) Math.cos(rotation), (float) Math.sin(rotation));
+        layerMesh.mesh.render(shader, GL20.GL_TRIANGLES, 0, layerMesh.tileCount * 6);
+        shader.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        return true;
+    }
+
+    private void rebuild(LayerMesh layerMesh, Tilemap tm, AbstractTheme theme) {
+        layerMesh.tilesVersion = tm.getTilesVersion();
+        layerMesh.theme = theme;
+        layerMesh.texture = null;
+        layerMesh.tileCount = 0;
+
+        List<TilemapTile> tiles = tm.getTileList();
+        int tileCount = tiles.size();
+        if (tileCount > MAX_TILES) return;
+
+        if (vertices.length < tileCount * FLOATS_PER_TILE) {
+            vertices = new float[tileCount * FLOATS_PER_TILE];
+        }
+
+        Texture texture = null;
+        float[] local = tm.getLocalPositions();
+        int v = 0;
+        for (int i = 0; i < tileCount; ++i) {
+            TextureRegion region = theme.getTexture(tiles.get(i).getTileID());
+            if (texture == null) {
+                texture = region.getTexture();
+            } else if (texture != region.getTexture()) {
+                return; // can't be drawn in one go
+            }
+
+            float cx = local[i * 2];
+            float cy = local[i * 2 + 1];
+            float left = cx - sideLengthHalf;
+            float right = cx + sideLengthHalf;
+            float bottom = cy - sideLengthHalf;
+            float top = cy + sideLengthHalf;
+
+            v = putVertex(v, left, bottom, region.getU(), region.getV2());
+            v = putVertex(v, left, top, region.getU(), region.getV());
+            v = putVertex(v, right, top, region.getU2(), region.getV());
+            v = putVertex(v, right, bottom, region.getU2(), region.getV2());
+        }
+
+        layerMesh.ensureCapacity(tileCount);
+        if (tileCount > 0) {
+            layerMesh.mesh.setVertices(vertices, 0, v);
+        }
+        layerMesh.texture = texture;
+        layerMesh.tileCount = tileCount;
+    }
+
+    private int putVertex(int v, float x, float y, float u, float uv) {
+        vertices[v] = x;
+        vertices[v + 1] = y;
+        vertices[v + 2] = u;
+        vertices[v + 3] = uv;
+        return v + FLOATS_PER_VERTEX;
+    }
+
+    @Override
+    public void dispose() {
+        for (LayerMesh layerMesh : layerMeshes.values()) {
+            layerMesh.dispose();
+        }
+        layerMeshes.clear();
+        shader.dispose();
+    }
+
+    private static class LayerMesh implements Disposable {
+        Mesh mesh;
+        int capacity;
+        int tilesVersion = -1;
+        AbstractTheme theme;
+        Texture texture;
+        int tileCount;
+
+        void ensureCapacity(int tileCount) {
+            if (mesh != null && tileCount <= capacity) return;
+            if (mesh != null) mesh.dispose();
+
+            capacity = Math.max(64, Math.min(MAX_TILES, Integer.highestOneBit(Math.max(1, tileCount)) * 2));
+            mesh = new Mesh(true, capacity * 4, capacity * 6,
+                    new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                    new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+
+            short[] indices = new short[capacity * 6];
+            for (int i = 0, j = 0; i < indices.length; i += 6, j += 4) {
+                indices[i] = (short) j;
+                indices[i + 1] = (short) (j + 1);
+                indices[i + 2] = (short) (j + 2);
+                indices[i + 3] = (short) (j + 2);
+                indices[i + 4] = (short) (j + 3);
+                indices[i + 5] = (short) j;
+            }
+            mesh.setIndices(indices);
+        }
+
+        @Override
+        public void dispose() {
+            if (mesh != null) mesh.dispose();
+            mesh = null;
+        }
+    }
+}
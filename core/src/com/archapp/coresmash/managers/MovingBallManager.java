@@ -1,36 +1,49 @@
 package com.archapp.coresmash.managers;
 
 import com.archapp.coresmash.Observable;
+import com.archapp.coresmash.WorldSettings;
 import com.archapp.coresmash.tiles.Launchable;
 import com.archapp.coresmash.tiles.MovingBall;
 import com.archapp.coresmash.tiles.Tile;
 import com.archapp.coresmash.tiles.TileFactory;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Pool;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.ListIterator;
-
 /**
  * Created by Michail on 24/3/2018.
+ * <p>
+ * Active balls are kept densely packed, together with their positions and velocities in float arrays
+ * (x, y pairs per slot). Disposed balls get replaced by the last active one so nothing shifts, and
+ * {@link #update(float)} moves every ball in a single pass over the arrays.
  */
 
 public class MovingBallManager extends Observable {
     private Pool<MovingBall> movingTilePool;
-    private LinkedList<MovingBall> activeList;
+    private MovingBall[] activeBalls;
+    private float[] positions;
+    private float[] previousPositions;
+    private float[] velocities;
+    private int activeCount;
 
     private int defaultSpeed;
     private float defaultScale;
+    /* Balls that go past these (e.g. missed the map when fired at an angle) get disposed */
+    private float minX, minY, maxX, maxY;
 
     private boolean isActive;
 
     public MovingBallManager() {
-        activeList = new LinkedList<>();
+        activeBalls = new MovingBall[16];
+        positions = new float[32];
+        previousPositions = new float[32];
+        velocities = new float[32];
 
         isActive = true;
         defaultSpeed = 15;
         defaultScale = 1 / 2f;
 
+        setVisibleArea(0, 0, WorldSettings.getWorldWidth(), WorldSettings.getWorldHeight());
+
         movingTilePool = new Pool<MovingBall>() {
             @Override
             protected MovingBall newObject() {
@@ -39,9 +52,21 @@ public class MovingBallManager extends Observable {
         };
     }
 
+    /**
+     * The part of the world on screen, which can be larger than the world when the viewport extends
+     * it. Balls get disposed once they're a tile past it.
+     */
+    public void setVisibleArea(float x, float y, float width, float height) {
+        int margin = WorldSettings.getTileSize();
+        minX = x - margin;
+        minY = y - margin;
+        maxX = x + width + margin;
+        maxY = y + height + margin;
+    }
+
     public MovingBall getFirstActiveTile() {
-        if (activeList.size() > 0) {
-            return activeList.getFirst();
+        if (activeCount > 0) {
+            return activeBalls[0];
         }
         return null;
     }
@@ -50,12 +75,42 @@ public class MovingBallManager extends Observable {
         this.defaultSpeed = defaultSpeed;
     }
 
+    public int getDefaultBallSpeed() {
+        return defaultSpeed;
+    }
+
     public boolean hasActiveBalls() {
-        return activeList.size() != 0;
+        return activeCount != 0;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Slots change as balls get disposed, don't hold on to the index.
+     */
+    public MovingBall getActiveBall(int index) {
+        return activeBalls[index];
     }
 
     public void activate(MovingBall ball) {
-        activeList.add(ball);
+        if (activeCount == activeBalls.length) {
+            grow();
+        }
+
+        int slot = activeCount++;
+        Vector2 position = ball.getPositionInWorld();
+        Vector2 previous = ball.getPreviousPosition();
+        positions[slot * 2] = position.x;
+        positions[slot * 2 + 1] = position.y;
+        previousPositions[slot * 2] = previous.x;
+        previousPositions[slot * 2 + 1] = previous.y;
+        velocities[slot * 2] = ball.getDirectionX() * ball.getSpeed();
+        velocities[slot * 2 + 1] = ball.getDirectionY() * ball.getSpeed();
+
+        activeBalls[slot] = ball;
+        ball.bindSlot(this, slot);
     }
 
     public MovingBall create(float x, float y, int ID) {
@@ -65,6 +120,7 @@ public class MovingBallManager extends Observable {
 
         MovingBall movingBall = movingTilePool.obtain();
         movingBall.setPositionInWorld(x, y);
+        movingBall.setDirection(0, 1);
         movingBall.setSpeed(defaultSpeed);
         movingBall.setScale(defaultScale);
         movingBall.setTile(tile);
@@ -72,55 +128,107 @@ public class MovingBallManager extends Observable {
     }
 
     public void dispose(MovingBall ball) {
-        activeList.remove(ball);
+        int slot = ball.getSlot();
+        if (slot != -1) {
+            removeSlot(slot);
+        }
         movingTilePool.free(ball);
     }
 
-    public LinkedList<MovingBall> getActiveList() {
-        return activeList;
-    }
-
     public void update(float delta) {
         if (isActive) {
-            for (MovingBall mt : activeList) {
-                mt.update(delta);
+            int length = activeCount * 2;
+            System.arraycopy(positions, 0, previousPositions, 0, length);
+            for (int i = 0; i < length; ++i) {
+                positions[i] += velocities[i] * delta;
+            }
+
+            for (int i = 0; i < length; i += 2) {
+                float x = positions[i];
+                float y = positions[i + 1];
+                if (x < minX || x > maxX || y < minY || y > maxY) {
+                    activeBalls[i / 2].dispose();
+                }
             }
         }
     }
 
     public void draw(RenderManager renderManager) {
-        renderManager.draw(activeList);
+        for (int i = 0; i < activeCount; ++i) {
+            renderManager.draw(activeBalls[i]);
+        }
     }
 
     public void reset() {
         isActive = true;
         defaultSpeed = 0;
 
-        Iterator<MovingBall> iter = activeList.iterator();
-        MovingBall tile;
+        for (int i = 0; i < activeCount; ++i) {
+            MovingBall ball = activeBalls[i];
+            ball.setFlagForDisposal(false);
+            ball.unbindSlot();
+            movingTilePool.free(ball);
+            activeBalls[i] = null;
+        }
+        activeCount = 0;
+    }
 
-        while (iter.hasNext()) {
-            tile = iter.next();
-            if (tile.getFlag()) {
-                tile.setFlagForDisposal(false);
+    public void disposeInactive() {
+        int i = 0;
+        while (i < activeCount) {
+            MovingBall ball = activeBalls[i];
+            if (ball.getFlag()) {
+                ball.setFlagForDisposal(false);
+                removeSlot(i); // the last ball takes its place so check this slot again
+                movingTilePool.free(ball);
+            } else {
+                ++i;
             }
-            movingTilePool.free(tile);
-            iter.remove();
         }
+    }
+
+    /* Accessed by active MovingBalls */
 
+    public void readPosition(int slot, Vector2 out) {
+        out.set(positions[slot * 2], positions[slot * 2 + 1]);
     }
 
-    public void disposeInactive() {
-        ListIterator<MovingBall> iter = activeList.listIterator();
-        MovingBall tile;
-        while (iter.hasNext()) {
-            tile = iter.next();
-            if (tile.getFlag()) {
-                tile.setFlagForDisposal(false);
-                movingTilePool.free(tile);
-                iter.remove();
-            }
+    public void readPreviousPosition(int slot, Vector2 out) {
+        out.set(previousPositions[slot * 2], previousPositions[slot * 2 + 1]);
+    }
+
+    /**
+     * Also sets the previous position, the ball gets placed rather than moved
+     */
+    public void setPosition(int slot, float x, float y) {
+        positions[slot * 2] = x;
+        positions[slot * 2 + 1] = y;
+        previousPositions[slot * 2] = x;
+        previousPositions[slot * 2 + 1] = y;
+    }
+
+    public void moveBy(int slot, float x, float y) {
+        positions[slot * 2] += x;
+        positions[slot * 2 + 1] += y;
+    }
+
+    public void setVelocity(int slot, float x, float y) {
+        velocities[slot * 2] = x;
+        velocities[slot * 2 + 1] = y;
+    }
+
+    private void removeSlot(int slot) {
+        activeBalls[slot].unbindSlot();
+
+        int last = --activeCount;
+        if (slot != last) {
+            activeBalls[slot] = activeBalls[last];
+            activeBalls[slot].bindSlot(this, slot);
+            copyPair(positions, last, slot);
+            copyPair(previousPositions, last, slot);
+            copyPair(velocities, last, slot);
         }
+        activeBalls[last] = null;
     }
 
     private MovingBall createMovingTile(float x, float y, Tile tile) {
@@ -133,4 +241,27 @@ public class MovingBallManager extends Observable {
         return res;
     }
 
+    private static void copyPair(float[] array, int from, int to) {
+        array[to * 2] = array[from * 2];
+        array[to * 2 + 1] = array[from * 2 + 1];
+    }
+
+    private void grow() {
+        int capacity = activeBalls.length * 2;
+
+        MovingBall[] newBalls = new MovingBall[capacity];
+        System.arraycopy(activeBalls, 0, newBalls, 0, activeCount);
+        activeBalls = newBalls;
+
+        positions = grow(positions, capacity * 2);
+        previousPositions = grow(previousPositions, capacity * 2);
+        velocities = grow(velocities, capacity * 2);
+    }
+
+    private float[] grow(float[] array, int length) {
+        float[] result = new float[length];
+        System.arraycopy(array, 0, result, 0, activeCount * 2);
+        return result;
+    }
+
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Queue;
@@ -25,14 +26,38 @@ public class RenderManager {
     private final SpriteBatch batch;
     private final AssetManager assetManager;
     private final ShapeRenderer shapeRenderer;
+    private final LayerMeshRenderer layerMeshRenderer;
     private final float sideLength = WorldSettings.getTileSize();
     private final float sideLengthHalf = sideLength / 2.f;
     private AbstractTheme theme;
+    private float interpolation;
+    private Vector2 lerpPosition;
+    private boolean layerMeshesEnabled;
 
     public RenderManager(AssetManager am) {
         batch = new SpriteBatch();
         shapeRenderer = new ShapeRenderer();
         assetManager = am;
+        interpolation = 1;
+        lerpPosition = new Vector2();
+        layerMeshRenderer = new LayerMeshRenderer(sideLength);
+        layerMeshesEnabled = layerMeshRenderer.isAvailable();
+    }
+
+    /**
+     * When enabled, each Tilemap layer is drawn as a single cached mesh instead of one sprite per
+     * tile. Layers that can't be (e.g. tiles from different textures) still get drawn as sprites.
+     */
+    public void setLayerMeshesEnabled(boolean enabled) {
+        layerMeshesEnabled = enabled && layerMeshRenderer.isAvailable();
+    }
+
+    /**
+     * Sets how far (0 to 1) in between the previous and the current simulation step tiles and balls
+     * should be drawn. Should be set back to 1 when done drawing, as the rest don't run fixed steps.
+     */
+    public void setInterpolation(float alpha) {
+        interpolation = alpha;
     }
 
     public SpriteBatch spriteBatchBegin(Matrix4 combined) {
@@ -72,11 +97,11 @@ public class RenderManager {
         TilemapTile centerTile = manager.getTilemapTile(0, 0, 0);
         if (centerTile == null) return;
 
-        Vector2 coords = centerTile.getPositionInWorld();
+        Vector2 coords = interpolate(centerTile.getPreviousPosition(), centerTile.getPositionInWorld());
         float size = WorldSettings.getTileSize() * .7f;
         float halfSize = size / 2f;
         Texture texture = assetManager.get("CenterTileIndicator.png", Texture.class);
-        float rotation = (float) Math.toDegrees(manager.getLayerRotation(0));
+        float rotation = (float) Math.toDegrees(MathUtils.lerp(manager.getLayerPreviousRotation(0), manager.getLayerRotation(0), interpolation));
 
         batch.draw(texture,
                 coords.x - halfSize, coords.y - halfSize,
@@ -88,7 +113,7 @@ public class RenderManager {
     }
 
     public void draw(MovingBall mt) {
-        Vector2 atPos = mt.getPositionInWorld();
+        Vector2 atPos = interpolate(mt.getPreviousPosition(), mt.getPositionInWorld());
         float sideLen = sideLengthHalf * mt.getScale();
 
         TextureRegion texture = theme.getTexture(mt.getTile().getID());
@@ -107,25 +132,71 @@ public class RenderManager {
         return batch;
     }
 
-    public TextureRegion getTextureFor(int id) {
-        return new TextureRegion(theme.getTexture(id));
+    /**
+     * Where the tile is drawn along with its layer at the current interpolation, so that whatever is
+     * drawn over it lines up.
+     */
+    public Vector2 getDrawPosition(TilemapTile tile) {
+        if (!tile.isPlaced()) return tile.getPositionInWorld();
+        return interpolate(tile.getPreviousPosition(), tile.getPositionInWorld());
     }
 
-    public void draw(Tilemap tm) {
-        float rotation = (float) Math.toDegrees(tm.getRotation());
+    /**
+     * @return The rotation in degrees the tile is drawn with along with its layer
+     */
+    public float getDrawRotation(TilemapTile tile) {
+        return (float) Math.toDegrees(MathUtils.lerp(tile.getPreviousRotation(), tile.getRotation(), interpolation));
+    }
 
+    /**
+     * The region is shared by everything drawing the same id, copy it before changing it.
+     */
+    public TextureRegion getTextureFor(int id) {
+        return theme.getTexture(id);
+    }
 
-        for (TilemapTile tile : tm.getTileList()) {
-            Vector2 pos = tile.getPositionInWorld();
-            TextureRegion texture = theme.getTexture(tile.getTileID());
+    public void draw(Tilemap tm) {
+        if (layerMeshesEnabled && batch.isDrawing()) {
+            batch.end(); // flush what's drawn so far so the layer ends up on top of it
+            boolean drawn = layerMeshRenderer.draw(tm, theme, batch.getProjectionMatrix(), batch.getColor(),
+                    batch.getBlendSrcFunc(), batch.getBlendDstFunc(), interpolation);
+            batch.begin();
+            if (drawn) return;
+        }
 
-            batch.draw(texture, pos.x - sideLengthHalf, pos.y - sideLengthHalf,
+        float rotation = (float) Math.toDegrees(MathUtils.lerp(tm.getPreviousRotation(), tm.getRotation(), interpolation));
+
+        tm.validatePositions();
+        List<TilemapTile> tiles = tm.getTileList();
+        float[] positions = tm.getWorldPositions();
+        float[] previous = tm.getPreviousPositions();
+        for (int i = 0; i < tiles.size(); ++i) {
+            float x = positions[i * 2];
+            float y = positions[i * 2 + 1];
+            if (interpolation != 1) {
+                x = MathUtils.lerp(previous[i * 2], x, interpolation);
+                y = MathUtils.lerp(previous[i * 2 + 1], y, interpolation);
+            }
+            TextureRegion texture = theme.getTexture(tiles.get(i).getTileID());
+
+            batch.draw(texture, x - sideLengthHalf, y - sideLengthHalf,
                     sideLengthHalf, sideLengthHalf, sideLength, sideLength,
                     1, 1, -rotation);
 
         }
     }
 
+    private Vector2 interpolate(Vector2 previous, Vector2 current) {
+        if (interpolation == 1) return current;
+        return lerpPosition.set(previous).lerp(current, interpolation);
+    }
+
+    public void dispose() {
+        layerMeshRenderer.dispose();
+        shapeRenderer.dispose();
+        batch.dispose();
+    }
+
     public void drawLauncher(Queue<MovingBall> launcher, Vector2 atPos) {
         MovingBall mt;
 
@@ -1,20 +1,18 @@
 package com.archapp.coresmash.managers;
 
 import com.archapp.coresmash.GameTarget;
+import com.archapp.coresmash.IntObserver;
 import com.archapp.coresmash.Launcher;
 import com.archapp.coresmash.NotificationType;
 import com.archapp.coresmash.Observable;
 import com.archapp.coresmash.Observer;
-import com.archapp.coresmash.tilemap.TilemapTile;
-import com.archapp.coresmash.tiles.TileType;
 import com.archapp.coresmash.tiles.TileType.PowerupType;
-import com.badlogic.gdx.Gdx;
 
 import java.util.EnumSet;
 import java.util.Random;
 import java.util.Set;
 
-public class RoundManager extends Observable implements Observer {
+public class RoundManager extends Observable implements Observer, IntObserver {
     private Random rand = new Random();
     private PowerupCase powerupCase;
     private GameStats gameStats;
@@ -32,10 +30,10 @@ public class RoundManager extends Observable implements Observer {
         gameStats = new GameStats();
     }
 
-    public void setLevel(int level, int unlockedLevel) {
+    public void setLevel(int level, int unlockedLevel, int userHighScore) {
         gameStats.activeLevel = level;
         gameStats.unlockedLevel = unlockedLevel;
-        gameStats.userHighScore = Gdx.app.getPreferences("account").getInteger("level" + level);
+        gameStats.userHighScore = userHighScore;
 
         // Allow only paid livesLimit after level 5
         if (level < 6)
@@ -91,7 +89,7 @@ public class RoundManager extends Observable implements Observer {
                 float chanceToGainLife = ((ballsDestroyedThisFrame * ballsDestroyedThisFrame) / 9.f) / 100.f; // random algorithm I came up with
                 if (rand.nextFloat() < chanceToGainLife) {
                     ++gameStats.livesLeft;
-                    notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, null);
+                    notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, gameStats.livesLeft);
                 }
             }
 
@@ -223,7 +221,7 @@ public class RoundManager extends Observable implements Observer {
     public void loseLife() {
         if (gameStats.livesEnabled) {
             --gameStats.livesLeft;
-            notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, null);
+            notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, gameStats.livesLeft);
         }
     }
 
@@ -262,7 +260,7 @@ public class RoundManager extends Observable implements Observer {
         if (gameStats.livesEnabled) {
             gameStats.livesLeft += amount;
             notifyObservers(NotificationType.REWARDED_LIVES, amount);
-            notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, amount);
+            notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, gameStats.livesLeft);
         }
     }
 
@@ -343,42 +341,48 @@ public class RoundManager extends Observable implements Observer {
     @Override
     public void onNotify(NotificationType type, Object ob) {
         switch (type) {
-            case ASTRONAUTS_FOUND:
-                gameStats.astronautsLeft += (short) ob;
-                break;
-
-            case SAME_COLOR_MATCH:
-                match3Size = (int) ob;
-                break;
-
             case NOTIFICATION_TYPE_CENTER_TILE_DESRTOYED:
                 gameTerminated = true;
                 break;
 
-            case TILE_DESTROYED:
-                if (((TilemapTile) ob).getTile().getTileType().getMajorType() == TileType.MajorType.ASTRONAUT)
-                    --gameStats.astronautsLeft;
-
-                ++ballsDestroyedThisFrame;
-                break;
-
             case NO_COLOR_MATCH:
                 if (gameStats.livesEnabled) {
                     --gameStats.livesLeft;
-                    notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, null);
+                    notifyObservers(NotificationType.LIVES_AMOUNT_CHANGED, gameStats.livesLeft);
                 }
                 break;
 
             case BALL_LAUNCHED:
                 if (gameStats.movesEnabled) {
                     --gameStats.movesLeft;
-                    notifyObservers(NotificationType.MOVES_AMOUNT_CHANGED, null);
+                    notifyObservers(NotificationType.MOVES_AMOUNT_CHANGED, gameStats.movesLeft);
                 }
                 notifyObservers(NotificationType.BALL_LAUNCHED, null);
                 break;
         }
     }
 
+    @Override
+    public void onNotify(NotificationType type, int value) {
+        switch (type) {
+            case ASTRONAUTS_FOUND:
+                gameStats.astronautsLeft += value;
+                break;
+
+            case ASTRONAUTS_DESTROYED:
+                gameStats.astronautsLeft -= value;
+                break;
+
+            case TILES_DESTROYED:
+                ballsDestroyedThisFrame += value;
+                break;
+
+            case SAME_COLOR_MATCH:
+                match3Size = value;
+                break;
+        }
+    }
+
     private static class PowerupCase {
         private static int SLOT_COUNT = 3;
         private PowerupSlot[] slots;
@@ -3,6 +3,7 @@ package com.archapp.coresmash.screens;
 import com.archapp.coresmash.Coords2D;
 import com.archapp.coresmash.CoreSmash;
 import com.archapp.coresmash.GameController;
+import com.archapp.coresmash.IntObserver;
 import com.archapp.coresmash.Launcher;
 import com.archapp.coresmash.NotificationType;
 import com.archapp.coresmash.Observer;
@@ -66,6 +67,10 @@ import java.util.Objects;
  */
 
 public class GameScreen extends ScreenBase implements Observer {
+    private static final int DEFAULT_TICK_RATE = 60;
+    /* If a frame needs more steps than this, the simulation slows down instead of freezing the game */
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
     private ExtendViewport viewport;
     private OrthographicCamera camera;
     private RenderManager renderManager;
@@ -83,6 +88,8 @@ public class GameScreen extends ScreenBase implements Observer {
 
     private Level activeLevel;
     private boolean speedUp;
+    private float stepDuration;
+    private float stepAccumulator;
 
     //===========
     private DebugUI debugUI;
@@ -97,6 +104,7 @@ public class GameScreen extends ScreenBase implements Observer {
         viewport = new ExtendViewport(WorldSettings.getWorldWidth(), WorldSettings.getWorldHeight());
         camera = (OrthographicCamera) viewport.getCamera();
         camera.setToOrtho(false, viewport.getMinWorldWidth(), viewport.getMinWorldHeight());
+        setTickRate(DEFAULT_TICK_RATE);
 
         animationManager = new AnimationManager();
         renderManager = gameInstance.getRenderManager();
@@ -126,9 +134,13 @@ public class GameScreen extends ScreenBase implements Observer {
             }
         };
 
-        roundManager.addObserver(this);
-        roundManager.addObserver(streakUI);
-        roundManager.addObserver(gameUI);
+        roundManager.addObserver(this, NotificationType.BALL_LAUNCHED, NotificationType.REWARDED_MOVES);
+        roundManager.addIntObserver(streakUI, NotificationType.NOTIFICATION_TYPE_SCORE_INCREMENTED);
+        roundManager.addIntObserver(gameUI,
+                NotificationType.NOTIFICATION_TYPE_SCORE_INCREMENTED,
+                NotificationType.LIVES_AMOUNT_CHANGED,
+                NotificationType.MOVES_AMOUNT_CHANGED,
+                NotificationType.TARGET_SCORE_REACHED);
 
         rootUIStack = new Stack();
         rootUIStack.setFillParent(true);
@@ -164,6 +176,11 @@ public class GameScreen extends ScreenBase implements Observer {
     @Override
     public void resize(int width, int height) {
         viewport.update(width, height);
+        movingBallManager.setVisibleArea(
+                camera.position.x - viewport.getWorldWidth() / 2,
+                camera.position.y - viewport.getWorldHeight() / 2,
+                viewport.getWorldWidth(),
+                viewport.getWorldHeight());
     }
 
     @Override
@@ -172,7 +189,18 @@ public class GameScreen extends ScreenBase implements Observer {
         draw();
     }
 
+    /**
+     * Sets how many times per second the game gets simulated. Rendering runs independently and
+     * interpolates in between steps.
+     */
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0)
+            throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+        stepDuration = 1f / ticksPerSecond;
+    }
+
     private void draw() {
+        renderManager.setInterpolation(stepAccumulator / stepDuration);
         renderManager.spriteBatchBegin(camera.combined);
 
         launcher.draw(renderManager);
@@ -182,6 +210,7 @@ public class GameScreen extends ScreenBase implements Observer {
         animationManager.draw(renderManager);
 
         renderManager.spriteBatchEnd();
+        renderManager.setInterpolation(1);
 
         stage.draw();
     }
@@ -191,34 +220,49 @@ public class GameScreen extends ScreenBase implements Observer {
             delta *= 2f;
 
         if (!roundManager.isGamePaused()) {
-            activeLevel.update(delta, gameController.getBehaviourPack(), gameUI);
-            launcher.update(delta);
-            tilemapManager.update(delta);
-            movingBallManager.update(delta);
-            gameController.update(delta);
+            stepAccumulator += delta;
 
-            roundManager.update(delta);
+            int steps = 0;
+            while (stepAccumulator >= stepDuration && !roundManager.isGamePaused()) {
+                if (steps == MAX_STEPS_PER_FRAME) {
+                    stepAccumulator %= stepDuration; // Drop what we can't catch up with
+                    break;
+                }
+                step(stepDuration);
+                stepAccumulator -= stepDuration;
+                ++steps;
+            }
             updateStage();
+        }
+        animationManager.update(delta);
+        stage.act(); // Moved out of updateStage() cause it always has to get called
+    }
 
-            if (roundManager.checkEndingConditions(movingBallManager)) {
-                roundManager.pauseGame();
-                if (!roundManager.isRoundWon()) {
-                    /* If the center tile is gone, we can't offer an extra life */
-                    if (tilemapManager.getTilemapTile(0, 0, 0) != null) {
-                        if (roundManager.getGameStats().getExtraLivesUsed() < 3)
-                            secondLifeDialog.show(stage);
-                        else
-                            endGame();
-                    } else {
+    private void step(float delta) {
+        activeLevel.update(delta, gameController.getBehaviourPack(), gameUI);
+        launcher.update(delta);
+        tilemapManager.update(delta);
+        movingBallManager.update(delta);
+        gameController.update(delta);
+
+        roundManager.update(delta);
+
+        if (roundManager.checkEndingConditions(movingBallManager)) {
+            roundManager.pauseGame();
+            if (!roundManager.isRoundWon()) {
+                /* If the center tile is gone, we can't offer an extra life */
+                if (tilemapManager.getTilemapTile(0, 0, 0) != null) {
+                    if (roundManager.getGameStats().getExtraLivesUsed() < 3)
+                        secondLifeDialog.show(stage);
+                    else
                         endGame();
-                    }
                 } else {
                     endGame();
                 }
+            } else {
+                endGame();
             }
         }
-        animationManager.update(delta);
-        stage.act(); // Moved out of updateStage() cause it always has to get called
     }
 
     private void updateStage() {
@@ -246,6 +290,7 @@ public class GameScreen extends ScreenBase implements Observer {
         animationManager.reset();
 
         activeLevel = null;
+        stepAccumulator = 0;
         rootUIStack.clear();
     }
 
@@ -409,7 +454,7 @@ public class GameScreen extends ScreenBase implements Observer {
 
     }
 
-    public class GameUI implements UIComponent, Observer {
+    public class GameUI implements UIComponent, IntObserver {
         Stack root;
         HorizontalGroup movesGroup, livesGroup, highscoreGroup;
         Table tblPowerUps, board;
@@ -654,7 +699,7 @@ public class GameScreen extends ScreenBase implements Observer {
         }
 
         @Override
-        public void onNotify(NotificationType type, Object ob) {
+        public void onNotify(NotificationType type, int value) {
             switch (type) {
                 case NOTIFICATION_TYPE_SCORE_INCREMENTED:
                     lblScore.setText(String.valueOf(roundManager.getScore()));
@@ -666,7 +711,7 @@ public class GameScreen extends ScreenBase implements Observer {
                     lblMoves.setText(String.valueOf(roundManager.getMoves()));
                     break;
                 case TARGET_SCORE_REACHED:
-                    updateStarsUnlocked((int) ob);
+                    updateStarsUnlocked(value);
                     break;
             }
         }
@@ -0,0 +1,230 @@
+package com.archapp.coresmash.simulation;
+
+import com.archapp.coresmash.BurstPattern;
+import com.archapp.coresmash.GameController;
+import com.archapp.coresmash.Launcher;
+import com.archapp.coresmash.NotificationType;
+import com.archapp.coresmash.Observer;
+import com.archapp.coresmash.animation.AnimationManager;
+import com.archapp.coresmash.levelbuilder.LevelListParser;
+import com.archapp.coresmash.managers.MovingBallManager;
+import com.archapp.coresmash.managers.RoundManager;
+import com.archapp.coresmash.managers.RoundManager.GameStats;
+import com.archapp.coresmash.sound.SoundManager;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.tiles.Launchable;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Random;
+
+/**
+ * Plays rounds of the game with no rendering, input or sounds, as fast as it can.
+ * <p>
+ * Balls always get launched upwards so aiming means picking where the core should be turned to
+ * when a ball leaves: the {@link AimPolicy} gives the angle (in degrees) the first layer should
+ * be at, and the ball is launched once the layer rotates there. Layers that don't rotate can't be
+ * aimed at, so the ball is launched right away.
+ * <p>
+ * Levels are read through {@link com.badlogic.gdx.Gdx#files} which is the only libGDX module needed.
+ */
+public class HeadlessGame implements Observer {
+    private static final int DEFAULT_TICK_RATE = 60;
+    /* Gives up on aiming if the layer doesn't get there in time and launches anyway */
+    private static final float MAX_AIM_WAIT = 10;
+
+    private final AnimationManager animationManager;
+    private final MovingBallManager movingBallManager;
+    private final Launcher launcher;
+    private final TilemapManager tilemapManager;
+    private final RoundManager roundManager;
+    private final GameController gameController;
+
+    private AimPolicy aimPolicy;
+    private float stepDuration;
+    private float maxRoundDuration;
+
+    private boolean isAiming;
+    private float aimAngle;
+    private float aimTimer;
+    private int ballsLaunched;
+
+    public HeadlessGame(AimPolicy aimPolicy) {
+        this.aimPolicy = aimPolicy;
+        stepDuration = 1f / DEFAULT_TICK_RATE;
+        maxRoundDuration = 60 * 10;
+
+        SoundManager.get().setSilent(true);
+
+        animationManager = new AnimationManager();
+        movingBallManager = new MovingBallManager();
+        launcher = new Launcher(movingBallManager);
+        tilemapManager = new TilemapManager(animationManager);
+        tilemapManager.setLazyPositions(true); // only the collision checks look at them
+        roundManager = new RoundManager();
+        gameController = new GameController(tilemapManager, movingBallManager, roundManager, launcher);
+
+        launcher.addObserver(roundManager);
+        tilemapManager.addObserver(roundManager);
+        movingBallManager.addObserver(roundManager);
+        roundManager.addObserver(this, NotificationType.BALL_LAUNCHED);
+    }
+
+    public static AimPolicy randomAim(long seed) {
+        final Random rand = new Random(seed);
+        return new AimPolicy() {
+            @Override
+            public float nextAngle() {
+                return rand.nextFloat() * 360;
+            }
+        };
+    }
+
+    /**
+     * Aims at each angle in order and starts over once they run out.
+     */
+    public static AimPolicy scriptedAim(final float... angles) {
+        if (angles.length == 0) throw new IllegalArgumentException("No angles to aim at");
+        return new AimPolicy() {
+            private int next;
+
+            @Override
+            public float nextAngle() {
+                float angle = angles[next];
+                next = (next + 1) % angles.length;
+                return angle;
+            }
+        };
+    }
+
+    /**
+     * Every launch fires a volley, see {@link Launcher#setBurstPattern(BurstPattern)}.
+     */
+    public void setBurstPattern(BurstPattern burstPattern) {
+        launcher.setBurstPattern(burstPattern);
+    }
+
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0)
+            throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+        stepDuration = 1f / ticksPerSecond;
+    }
+
+    /**
+     * Rounds that last longer than this (in game seconds) are stopped and counted as lost.
+     */
+    public void setMaxRoundDuration(float seconds) {
+        maxRoundDuration = seconds;
+    }
+
+    public SimulationReport run(String levelName, LevelListParser.Source source, int rounds) {
+        SimulationReport report = new SimulationReport(levelName);
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; ++i) {
+            playRound(levelName, source, report);
+        }
+        report.wallTime = (System.nanoTime() - start) / 1e9f;
+        return report;
+    }
+
+    private void playRound(String levelName, LevelListParser.Source source, SimulationReport report) {
+        reset();
+        gameController.loadLevelMap(levelName, source);
+
+        if (tilemapManager.getTilemapTile(0, 0, 0) == null)
+            throw new RuntimeException("Level '" + levelName + "' has no center tile");
+
+        launcher.fillLauncher(tilemapManager, roundManager);
+        roundManager.debug();
+        roundManager.start();
+
+        float roundTime = 0;
+        boolean finished = false;
+        while (!finished && roundTime < maxRoundDuration) {
+            aim();
+            step(stepDuration);
+            roundTime += stepDuration;
+            finished = roundManager.checkEndingConditions(movingBallManager);
+        }
+
+        GameStats stats = roundManager.getGameStats();
+        report.addRound(finished && stats.isRoundWon(), stats.getTotalScore(), stats.getStarsUnlocked(), ballsLaunched, roundTime);
+    }
+
+    private void aim() {
+        if (movingBallManager.hasActiveBalls()) return;
+
+        if (!isAiming) {
+            isAiming = true;
+            aimAngle = aimPolicy.nextAngle() * MathUtils.degreesToRadians;
+            aimTimer = 0;
+        }
+
+        float current = tilemapManager.getLayerRotation(0);
+        float turned = Math.abs(current - tilemapManager.getLayerPreviousRotation(0));
+        float distance = Math.abs(wrapAngle(aimAngle - current));
+
+        if (turned == 0 || distance <= turned || aimTimer >= MAX_AIM_WAIT) {
+            launcher.eject();
+            isAiming = false;
+        }
+        aimTimer += stepDuration;
+    }
+
+    private void step(float delta) {
+        launcher.update(delta);
+        tilemapManager.update(delta);
+        movingBallManager.update(delta);
+        gameController.update(delta);
+        roundManager.update(delta);
+        animationManager.update(delta);
+    }
+
+    private void reset() {
+        tilemapManager.reset();
+        movingBallManager.reset();
+        launcher.reset();
+        roundManager.reset();
+        animationManager.reset();
+
+        isAiming = false;
+        ballsLaunched = 0;
+    }
+
+    /* Wraps to [-PI, PI) */
+    private static float wrapAngle(float radians) {
+        radians %= MathUtils.PI2;
+        if (radians >= MathUtils.PI) radians -= MathUtils.PI2;
+        else if (radians < -MathUtils.PI) radians += MathUtils.PI2;
+        return radians;
+    }
+
+    @Override
+    public void onNotify(NotificationType type, Object ob) {
+        switch (type) {
+            case BALL_LAUNCHED:
+                ++ballsLaunched;
+                // Same reloading rules as the GameScreen
+                if (roundManager.isMovesEnabled()) {
+                    int moves = roundManager.getMoves();
+                    if (moves > launcher.getLauncherSize()) {
+                        launcher.loadLauncher(tilemapManager);
+                    } else if (moves == launcher.getLauncherSize()) {
+                        if (tilemapManager.getCenterTile() instanceof Launchable)
+                            launcher.loadLauncher(tilemapManager.getCenterTileID());
+                        else
+                            launcher.loadLauncher(tilemapManager);
+                    }
+                } else {
+                    launcher.loadLauncher(tilemapManager);
+                }
+                break;
+        }
+    }
+
+    public interface AimPolicy {
+        /**
+         * @return The angle in degrees the core should be at when the next ball gets launched
+         */
+        float nextAngle();
+    }
+}
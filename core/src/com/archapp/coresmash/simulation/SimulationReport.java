@@ -0,0 +1,87 @@
+package com.archapp.coresmash.simulation;
+
+import java.util.Locale;
+
+/**
+ * Totals of a batch of rounds played by the {@link HeadlessGame}.
+ */
+public class SimulationReport {
+    private final String levelName;
+    private int rounds;
+    private int roundsWon;
+    private long totalScore;
+    private int[] starCounts = new int[4];
+    private long ballsLaunched;
+    private double gameTime;
+    float wallTime;
+
+    SimulationReport(String levelName) {
+        this.levelName = levelName;
+    }
+
+    void addRound(boolean won, int score, int stars, int balls, float duration) {
+        ++rounds;
+        if (won) ++roundsWon;
+        totalScore += score;
+        ++starCounts[stars];
+        ballsLaunched += balls;
+        gameTime += duration;
+    }
+
+    public String getLevelName() {
+        return levelName;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getRoundsWon() {
+        return roundsWon;
+    }
+
+    public float getWinRate() {
+        return rounds == 0 ? 0 : (float) roundsWon / rounds;
+    }
+
+    public float getAverageScore() {
+        return rounds == 0 ? 0 : (float) totalScore / rounds;
+    }
+
+    public int getRoundsWithStars(int stars) {
+        return starCounts[stars];
+    }
+
+    public float getAverageBallsLaunched() {
+        return rounds == 0 ? 0 : (float) ballsLaunched / rounds;
+    }
+
+    /**
+     * @return The time in seconds that the rounds would have lasted in the game
+     */
+    public double getGameTime() {
+        return gameTime;
+    }
+
+    /**
+     * @return The real time in seconds it took to play the rounds
+     */
+    public float getWallTime() {
+        return wallTime;
+    }
+
+    public float getRoundsPerSecond() {
+        return wallTime == 0 ? 0 : rounds / wallTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH,
+                "%s: %d rounds in %.2fs (%.1f rounds/s, %.0fx real time)%n" +
+                        "  won: %.1f%%, stars 0/1/2/3: %d/%d/%d/%d%n" +
+                        "  average score: %.1f, average balls launched: %.1f",
+                levelName, rounds, wallTime, getRoundsPerSecond(), wallTime == 0 ? 0 : gameTime / wallTime,
+                getWinRate() * 100, starCounts[0], starCounts[1], starCounts[2], starCounts[3],
+                getAverageScore(), getAverageBallsLaunched());
+    }
+}
@@ -20,6 +20,7 @@ public class SoundManager {
     private static final float BACKGROUND_MUSIC_VOLUME = 0.7f;
 
     private boolean inGame;
+    private boolean silent;
     private MusicAsset menuMusic, gameMusic;
 
     public enum MusicTrack {
@@ -80,9 +81,17 @@ public class SoundManager {
     }
 
     public void play(SoundTrack track) {
+        if (silent) return;
         getSoundAsset(track).play();
     }
 
+    /**
+     * Ignores every request to play a sound effect. Lets the game run where no sounds got loaded.
+     */
+    public void setSilent(boolean silent) {
+        this.silent = silent;
+    }
+
 
     public void playGameMusic() {
         inGame = true;
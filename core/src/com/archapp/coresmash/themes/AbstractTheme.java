@@ -14,6 +14,7 @@ import java.util.Map;
 public abstract class AbstractTheme {
     private AssetManager assetManager;
     private HashMap<Integer, ResourceData> resourceList = new HashMap<>();
+    private TextureRegion defaultTexture;
 
     public void dispose() {
         for (Map.Entry entry : resourceList.entrySet()) {
@@ -37,7 +38,11 @@ public abstract class AbstractTheme {
 
     public TextureRegion getTexture(int id) {
         ResourceData data = resourceList.get(id);
-        if (data == null) return new TextureRegion(assetManager.get("default.png", Texture.class));
+        if (data == null) {
+            if (defaultTexture == null)
+                defaultTexture = new TextureRegion(assetManager.get("default.png", Texture.class));
+            return defaultTexture;
+        }
         return data.texture;
     }
 
@@ -52,6 +57,7 @@ public abstract class AbstractTheme {
      */
     public void finishLoading() {
         TextureAtlas atlas = assetManager.get("atlas/Balls.atlas");
+        defaultTexture = null;
 
         for (Map.Entry entry : resourceList.entrySet()) {
             ResourceData data = (ResourceData) entry.getValue();
@@ -0,0 +1,40 @@
+package com.archapp.coresmash.tilemap;
+
+import com.archapp.coresmash.tiles.TileFactory;
+
+/**
+ * A layer as worked out by {@link TilemapBuilder#buildBlueprint()}, colors balanced and all, with
+ * nothing left to do but to put the tiles in a tilemap. Tiles are kept as x,y,id triplets.
+ */
+public final class LayerBlueprint {
+    private final int[] tiles;
+    private final TilemapBuilder.TilemapBuilderInfo info;
+
+    LayerBlueprint(int[] tiles, TilemapBuilder.TilemapBuilderInfo info) {
+        this.tiles = tiles;
+        this.info = info;
+    }
+
+    public int getTileCount() {
+        return tiles.length / 3;
+    }
+
+    public int getX(int index) {
+        return tiles[index * 3];
+    }
+
+    public int getY(int index) {
+        return tiles[index * 3 + 1];
+    }
+
+    public int getTileID(int index) {
+        return tiles[index * 3 + 2];
+    }
+
+    void instantiate(Tilemap tilemap) {
+        for (int i = 0; i < tiles.length; i += 3) {
+            tilemap.putTilemapTile(tiles[i], tiles[i + 1], TileFactory.getTileFromID(tiles[i + 2]));
+        }
+        tilemap.initialize(info);
+    }
+}
@@ -34,6 +34,8 @@ import java.util.List;
 public class Map extends Observable implements TilemapCollection {
     private final Coords2D defMapPosition;
     private int activeTilemaps;
+    private boolean lazyPositions;
+    private boolean bitboards;
     Observer tmObserver;
     private List<Tilemap> tilemaps;
 
@@ -58,6 +60,31 @@ public class Map extends Observable implements TilemapCollection {
         return tilemaps.get(layer).getTileCount();
     }
 
+    public List<TilemapTile> getTileListFrom(int layer) {
+        assertLayerIndex(layer);
+        return tilemaps.get(layer).getTileList();
+    }
+
+    public TilemapTile getFirstTileOfColor(int layer, int color) {
+        assertLayerIndex(layer);
+        return tilemaps.get(layer).getFirstTileOfColor(color);
+    }
+
+    public int getTileCountOfColor(int layer, int color) {
+        assertLayerIndex(layer);
+        return tilemaps.get(layer).getTileCountOfColor(color);
+    }
+
+    public float getLayerBoundingRadius(int layer) {
+        assertLayerIndex(layer);
+        return tilemaps.get(layer).getBoundingRadius();
+    }
+
+    public float getLayerPreviousRotation(int layer) {
+        assertLayerIndex(layer);
+        return tilemaps.get(layer).getPreviousRotation();
+    }
+
     public float getLayerRotation(int layer) {
         assertLayerIndex(layer);
         return tilemaps.get(layer).getRotation();
@@ -74,6 +101,11 @@ public class Map extends Observable implements TilemapCollection {
         return tilemaps.get(layer).getWorldToTilemapCoords(world);
     }
 
+    public Vector2 applyLayerLastMove(int layer, Vector2 point) {
+        assertLayerIndex(layer);
+        return tilemaps.get(layer).applyLastMove(point);
+    }
+
     public boolean isTileEmpty(int layer, int x, int y) {
         assertLayerIndex(layer);
         return tilemaps.get(layer).getTilemapTile(x, y) == null;
@@ -210,6 +242,8 @@ public class Map extends Observable implements TilemapCollection {
     public Tilemap newLayer() {
         if (activeTilemaps >= tilemaps.size()) {
             Tilemap tm = new Tilemap(activeTilemaps, defMapPosition);
+            tm.setLazyPositions(lazyPositions);
+            tm.setBitboardEnabled(bitboards);
             if (tmObserver != null) {
                 tm.addObserver(tmObserver);
             }
@@ -219,6 +253,34 @@ public class Map extends Observable implements TilemapCollection {
         return tilemaps.get(activeTilemaps - 1);
     }
 
+    /**
+     * @see Tilemap#setLazyPositions(boolean)
+     */
+    public void setLazyPositions(boolean lazy) {
+        lazyPositions = lazy;
+        for (Tilemap tilemap : tilemaps) {
+            tilemap.setLazyPositions(lazy);
+        }
+    }
+
+    /**
+     * @see Tilemap#setBitboardEnabled(boolean)
+     */
+    public void setBitboardsEnabled(boolean enabled) {
+        bitboards = enabled;
+        for (Tilemap tilemap : tilemaps) {
+            tilemap.setBitboardEnabled(enabled);
+        }
+    }
+
+    /**
+     * @return null unless bitboards are enabled and the layer fits in one
+     */
+    public TilemapBitboard getBitboard(int layer) {
+        assertLayerIndex(layer);
+        return tilemaps.get(layer).getBitboard();
+    }
+
     public void update(float delta) {
         for (Tilemap tilemap : tilemaps) {
             tilemap.update(delta);
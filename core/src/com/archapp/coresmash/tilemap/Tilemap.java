@@ -6,15 +6,18 @@ import com.archapp.coresmash.Observable;
 import com.archapp.coresmash.WorldSettings;
 import com.archapp.coresmash.tiles.Tile;
 import com.archapp.coresmash.tiles.TileContainer.Side;
+import com.archapp.coresmash.tiles.TileType;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.LongMap;
 import com.badlogic.gdx.utils.Pool;
 
 import org.xmlpull.v1.XmlSerializer;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -26,6 +29,7 @@ import static com.archapp.coresmash.tiles.TileContainer.getOppositeSide;
  */
 
 public class Tilemap extends Observable implements Comparable<Tilemap> {
+    public static final int COLOR_COUNT = 8; // regular balls
     private static final Pool<TilemapTile> tilemapTilePool = new Pool<TilemapTile>() {
         @Override
         protected TilemapTile newObject() {
@@ -35,10 +39,23 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
 
     private int groupID;
     private int maxDistanceFromCenter;
-    private List<TilemapTile> tilemapTiles;
+    private int boundingDistance;
+    private LongMap<TilemapTile> tileIndex;
+    private List<TilemapTile> tilemapTiles; // dense, unsorted. Tiles know their own slot
+    private List<TilemapTile> tilemapTilesView;
     private List<TilemapTile> destroyedTiles;
+    /* x,y pairs of the live tiles, indexed by their slot in the tile list */
+    private float[] localPositions;
+    private float[] worldPositions;
+    private float[] previousPositions;
+    private int[] positionVersions; // lazy mode only, the positionsVersion each slot was computed at
+    private TilemapTile[] colorHeads; // regular balls of each color, linked through the tiles themselves
+    private int[] colorCounts;
+    private boolean bitboardEnabled;
+    private TilemapBitboard bitboard; // null while disabled or when the layer got too big for one
     private Coords2D defPosition;
     private Vector2 worldPosition;
+    private Vector2 prevWorldPosition;
     private Vector2 offset;
     private Vector2 origin;
 
@@ -46,8 +63,14 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
     private boolean isChained;
     private boolean rotateCounterClockwise;
     private boolean autoRotationEnabled;
+    private boolean lazyPositions;
+    private boolean positionsDirty; // the layer moved since the tiles were last positioned
+    private boolean previousOutdated; // the previous positions no longer match the last update
+    private int positionsVersion;
+    private int tilesVersion; // changes whenever tiles are placed, removed or change slots
     private float rotation; // Radians
     private float originRotation; // Radians
+    private float prevRotation; // Radians
 
     private int minMapRotationSpeed;
     private int maxMapRotationSpeed;
@@ -59,17 +82,27 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
 
     private float cos;
     private float sin;
+    private float prevCos;
+    private float prevSin;
 
     private int initTileCount;
-    private TilemapTile dummyTile;
 
     private Tilemap(int id) {
         groupID = id;
         cos = 1;
-        dummyTile = new TilemapTile(null);
+        prevCos = 1;
+        tileIndex = new LongMap<>();
         tilemapTiles = new ArrayList<>();
+        tilemapTilesView = Collections.unmodifiableList(tilemapTiles);
         destroyedTiles = new ArrayList<>();
+        localPositions = new float[64];
+        worldPositions = new float[64];
+        previousPositions = new float[64];
+        positionVersions = new int[32];
+        colorHeads = new TilemapTile[COLOR_COUNT];
+        colorCounts = new int[COLOR_COUNT];
         worldPosition = new Vector2();
+        prevWorldPosition = new Vector2();
         origin = new Vector2();
         offset = new Vector2();
     }
@@ -97,12 +130,143 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         return rotation + originRotation;
     }
 
+    /**
+     * The rotation the layer had before its last update.
+     */
+    public float getPreviousRotation() {
+        return prevRotation;
+    }
+
+    /**
+     * Radius around the layer's position that encloses every tile placed since the last reset.
+     * It never shrinks when tiles get destroyed so it's only good for rejecting the whole layer.
+     */
+    public float getBoundingRadius() {
+        // XXX(11/5/2018): MAGIC VALUES .95f
+        return boundingDistance * WorldSettings.getTileSize() * .95f;
+    }
+
     public boolean isChained() {
         return isChained;
     }
 
+    /**
+     * Start of the list of regular balls with the given color, continued through
+     * {@link TilemapTile#getNextOfColor()}. Must not be walked while tiles get destroyed.
+     *
+     * @return null if there are none
+     */
+    public TilemapTile getFirstTileOfColor(int color) {
+        return colorHeads[color];
+    }
+
+    public int getTileCountOfColor(int color) {
+        return colorCounts[color];
+    }
+
+    /**
+     * Keeps a {@link TilemapBitboard} of the layer up to date as tiles come and go. It grows when
+     * tiles get placed outside of it, and gets dropped if the layer outgrows
+     * {@link TilemapBitboard#MAX_RADIUS}.
+     */
+    public void setBitboardEnabled(boolean enabled) {
+        bitboardEnabled = enabled;
+        if (!enabled) {
+            bitboard = null;
+        } else if (bitboard == null) {
+            rebuildBitboard(boundingDistance);
+        }
+    }
+
+    /**
+     * @return null if disabled or the layer is too big for one
+     */
+    public TilemapBitboard getBitboard() {
+        return bitboard;
+    }
+
+    /**
+     * Tiles are listed in the order they were placed, except that a destroyed tile's slot is
+     * taken over by the last tile of the list.
+     */
     public List<TilemapTile> getTileList() {
-        return Collections.unmodifiableList(tilemapTiles);
+        return tilemapTilesView;
+    }
+
+    /**
+     * World positions of the tiles as x,y pairs, in the same order as {@link #getTileList()}.
+     * Only the first {@code getTileCount() * 2} values are meaningful.
+     *
+     * @see #setLazyPositions(boolean)
+     */
+    public float[] getWorldPositions() {
+        return worldPositions;
+    }
+
+    /**
+     * Same as {@link #getWorldPositions()} but from before the last update.
+     */
+    public float[] getPreviousPositions() {
+        return previousPositions;
+    }
+
+    /**
+     * Offsets of the tiles from the layer's position before any rotation, laid out like
+     * {@link #getWorldPositions()}. These only change when tiles are placed or removed.
+     */
+    public float[] getLocalPositions() {
+        return localPositions;
+    }
+
+    public int getTilesVersion() {
+        return tilesVersion;
+    }
+
+    public boolean isLazyPositions() {
+        return lazyPositions;
+    }
+
+    /**
+     * In lazy mode, tile positions are no longer computed on every update but only when they are
+     * read, so layers nobody looks at cost nothing. Anything reading {@link #getWorldPositions()}
+     * or {@link #getPreviousPositions()} directly has to call {@link #validatePositions()} first.
+     */
+    public void setLazyPositions(boolean lazy) {
+        if (lazy == lazyPositions) return;
+
+        if (lazy) {
+            // everything computed so far is still good
+            ++positionsVersion;
+            Arrays.fill(positionVersions, 0, tilemapTiles.size(), positionsVersion);
+        } else {
+            validatePositions();
+        }
+        lazyPositions = lazy;
+    }
+
+    /**
+     * Brings the position arrays up to date. Does nothing unless in lazy mode.
+     */
+    public void validatePositions() {
+        if (!lazyPositions) return;
+        for (int i = 0; i < tilemapTiles.size(); ++i) {
+            validatePosition(i);
+        }
+    }
+
+    void validatePosition(int index) {
+        if (!lazyPositions) return;
+        if (positionsDirty) updateTilePositions();
+        if (positionVersions[index] == positionsVersion) return;
+
+        int slot = index * 2;
+        float localX = localPositions[slot];
+        float localY = localPositions[slot + 1];
+        worldPositions[slot] = worldPosition.x + localX * cos + localY * sin;
+        worldPositions[slot + 1] = worldPosition.y - localX * sin + localY * cos;
+        previousPositions[slot] = prevWorldPosition.x + localX * prevCos + localY * prevSin;
+        previousPositions[slot + 1] = prevWorldPosition.y - localX * prevSin + localY * prevCos;
+        positionVersions[index] = positionsVersion;
     }
 
     public Vector3 getWorldToTilemapCoords(Vector3 world) {
@@ -126,12 +290,23 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         return world;
     }
 
-    public TilemapTile getTilemapTile(int x, int y) {
-        dummyTile.setCoordinates(x, y);
+    /**
+     * Moves a world point along with the layer's last update, as if it was stuck on the layer.
+     */
+    public Vector2 applyLastMove(Vector2 point) {
+        float dx = point.x - prevWorldPosition.x;
+        float dy = point.y - prevWorldPosition.y;
 
-        // Assume list is always sorted
-        int index = Collections.binarySearch(tilemapTiles, dummyTile);
-        return index >= 0 ? tilemapTiles.get(index) : null;
+        float localX = dx * prevCos - dy * prevSin;
+        float localY = dx * prevSin + dy * prevCos;
+
+        point.x = worldPosition.x + localX * cos + localY * sin;
+        point.y = worldPosition.y + localX * -sin + localY * cos;
+        return point;
+    }
+
+    public TilemapTile getTilemapTile(int x, int y) {
+        return tileIndex.get(toKey(x, y));
     }
 
     public TilemapTile putTilemapTile(int x, int y, Tile tile) {
@@ -141,9 +316,12 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
             TilemapTile newTile = tilemapTilePool.obtain();
             newTile.setTile(tile);
             newTile.setPositionInTilemap(groupID, x, y);
-            updateTilemapTile(newTile); // update tile to set it's world position (Used in levelBuilder)
             attachNeighbours(newTile);
 
+            if (newTile.getDistanceFromCenter() > boundingDistance) {
+                boundingDistance = newTile.getDistanceFromCenter();
+            }
+
             if (!isTilemapInitilized) {
                 ++initTileCount;
                 if (newTile.getDistanceFromCenter() > maxDistanceFromCenter) {
@@ -151,8 +329,20 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
                 }
             }
 
+            newTile.index = tilemapTiles.size();
+            newTile.tilemap = this;
+            ++tilesVersion;
             tilemapTiles.add(newTile);
-            Collections.sort(tilemapTiles);
+            storeLocalPosition(newTile);
+            tileIndex.put(toKey(x, y), newTile);
+            linkColor(newTile);
+            if (bitboard != null) {
+                if (bitboard.covers(x, y)) {
+                    bitboard.set(x, y, getColorOf(newTile));
+                } else {
+                    rebuildBitboard(Math.max(Math.abs(x), Math.abs(y)) + 2);
+                }
+            }
             return newTile;
         } else {
             throw new RuntimeException("I was too bored to implement but looks like I have to..");
@@ -183,27 +373,101 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         for (TilemapTile tmTile : forDesrtuction) {
             executeDestroyProcedure(tmTile);
         }
-        Collections.sort(tilemapTiles);
     }
 
     private void executeDestroyProcedure(TilemapTile tmTile) {
         notifyObservers(NotificationType.TILE_DESTROYED, tmTile); // put before others!
         tmTile.clear();
-        tilemapTiles.remove(tmTile);
+        removeFromIndex(tmTile);
         destroyedTiles.add(tmTile);
     }
 
+    private void removeFromIndex(TilemapTile tmTile) {
+        tileIndex.remove(toKey(tmTile.getX(), tmTile.getY()));
+        unlinkColor(tmTile);
+        if (bitboard != null) {
+            bitboard.clear(tmTile.getX(), tmTile.getY(), getColorOf(tmTile));
+        }
+        ++tilesVersion;
+
+        tmTile.storePositions();
+
+        // swap with the last one so that removal doesn't shift the whole list
+        int last = tilemapTiles.size() - 1;
+        TilemapTile moved = tilemapTiles.remove(last);
+        if (moved != tmTile) {
+            tilemapTiles.set(tmTile.index, moved);
+            moved.index = tmTile.index;
+            int slot = tmTile.index * 2;
+            int from = last * 2;
+            positionVersions[tmTile.index] = positionVersions[last];
+            localPositions[slot] = localPositions[from];
+            localPositions[slot + 1] = localPositions[from + 1];
+            worldPositions[slot] = worldPositions[from];
+            worldPositions[slot + 1] = worldPositions[from + 1];
+            previousPositions[slot] = previousPositions[from];
+            previousPositions[slot + 1] = previousPositions[from + 1];
+        }
+        tmTile.index = -1;
+        tmTile.tilemap = null;
+    }
+
+    private void linkColor(TilemapTile tmTile) {
+        int color = getColorOf(tmTile);
+        if (color == -1) return;
+
+        TilemapTile head = colorHeads[color];
+        tmTile.nextOfColor = head;
+        if (head != null) head.previousOfColor = tmTile;
+        colorHeads[color] = tmTile;
+        ++colorCounts[color];
+    }
+
+    private void unlinkColor(TilemapTile tmTile) {
+        int color = getColorOf(tmTile);
+        if (color == -1) return;
+
+        if (tmTile.previousOfColor != null) {
+            tmTile.previousOfColor.nextOfColor = tmTile.nextOfColor;
+        } else {
+            colorHeads[color] = tmTile.nextOfColor;
+        }
+        if (tmTile.nextOfColor != null) {
+            tmTile.nextOfColor.previousOfColor = tmTile.previousOfColor;
+        }
+        tmTile.previousOfColor = null;
+        tmTile.nextOfColor = null;
+        --colorCounts[color];
+    }
+
+    private void rebuildBitboard(int radius) {
+        if (radius > TilemapBitboard.MAX_RADIUS) {
+            bitboard = null;
+            return;
+        }
+
+        bitboard = new TilemapBitboard(radius);
+        for (TilemapTile tmTile : tilemapTiles) {
+            bitboard.set(tmTile.getX(), tmTile.getY(), getColorOf(tmTile));
+        }
+    }
+
+    private static int getColorOf(TilemapTile tmTile) {
+        Tile tile = tmTile.getTile();
+        if (tile.getTileType().getMajorType() != TileType.MajorType.REGULAR) return -1;
+        return tile.getID() < COLOR_COUNT ? tile.getID() : -1;
+    }
+
     public TilemapTile destroyTilemapTile(int x, int y) {
         TilemapTile tmTile = getTilemapTile(x, y);
         if (tmTile == null) return null;
 
         executeDestroyProcedure(tmTile);
-
-        Collections.sort(tilemapTiles);
         return tmTile;
     }
 
     public void rotate(float deg) {
+        if (deg != 0) positionsDirty = true;
         if (rotateCounterClockwise)
             rotation -= Math.toRadians(deg);
         else
@@ -228,16 +492,38 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         origin.set(settings.getOriginX(), settings.getOriginY());
         offset.set(settings.getOffsetX(), settings.getOffsetY());
         updateWorldPosition();
+        prevWorldPosition.set(worldPosition);
+        prevRotation = rotation + originRotation;
+        prevCos = cos;
+        prevSin = sin;
         updateTilePositions();
+        System.arraycopy(worldPositions, 0, previousPositions, 0, tilemapTiles.size() * 2);
+        previousOutdated = false;
         isTilemapInitilized = true;
         notifyObservers(NotificationType.TILEMAP_INITIALIZED, getTileList());
     }
 
     public void update(float delta) {
+        prevWorldPosition.set(worldPosition);
+        prevCos = cos;
+        prevSin = sin;
+        prevRotation = rotation + originRotation;
+
+        // the tiles moved in the last update, now they are where they were left
+        if (previousOutdated) {
+            previousOutdated = false;
+            if (lazyPositions)
+                ++positionsVersion;
+            else
+                System.arraycopy(worldPositions, 0, previousPositions, 0, tilemapTiles.size() * 2);
+        }
+
         rotateOrigin(MathUtils.clamp(maxMapRotationSpeed - speedDiff * ((float) tilemapTiles.size() / initTileCount), minMapRotationSpeed, maxMapRotationSpeed) * delta);
         rotate(MathUtils.clamp(maxRotationSpeed - speedDiff * ((float) tilemapTiles.size() / initTileCount), minRotationSpeed, maxRotationSpeed) * delta);
         disposeDisposableTiles();
-        updateTilePositions();
+        if (positionsDirty) {
+            updateTilePositions();
+        }
     }
 
     private void disposeDisposableTiles() {
@@ -252,6 +538,7 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
     }
 
     private void rotateOrigin(float deg) {
+        if (deg != 0) positionsDirty = true;
         originRotation += Math.toRadians(deg);
         float cos = (float) Math.cos(originRotation);
         float sin = (float) Math.sin(originRotation);
@@ -272,24 +559,50 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
     }
 
     void updateTilePositions() {
-        for (TilemapTile tmTile : tilemapTiles) {
-            updateTilemapTile(tmTile);
-        }
+        positionsDirty = false;
+        previousOutdated = true;
         for (TilemapTile tmTile : destroyedTiles) {
             updateTilemapTile(tmTile);
         }
+
+        if (lazyPositions) {
+            ++positionsVersion;
+            return;
+        }
+
+        float[] local = localPositions;
+        float[] world = worldPositions;
+        float posX = worldPosition.x;
+        float posY = worldPosition.y;
+        float cos = this.cos;
+        float sin = this.sin;
+
+        int length = tilemapTiles.size() * 2;
+        for (int i = 0; i < length; i += 2) {
+            float localX = local[i];
+            float localY = local[i + 1];
+            world[i] = posX + localX * cos + localY * sin;
+            world[i + 1] = posY - localX * sin + localY * cos;
+        }
     }
 
     void reset() {
-        Iterator<TilemapTile> iter = tilemapTiles.iterator();
-        while (iter.hasNext()) {
-            TilemapTile t = iter.next();
-            if (t == null) continue;
+        for (TilemapTile t : tilemapTiles) {
+            t.tilemap = null;
             tilemapTilePool.free(t);
-            iter.remove();
         }
+        tilemapTiles.clear();
+        tileIndex.clear();
+        Arrays.fill(colorHeads, null);
+        Arrays.fill(colorCounts, 0);
+        if (bitboard != null) {
+            bitboard.clear();
+        } else if (bitboardEnabled) {
+            rebuildBitboard(0);
+        }
+        ++tilesVersion;
 
-        iter = destroyedTiles.iterator();
+        Iterator<TilemapTile> iter = destroyedTiles.iterator();
         while (iter.hasNext()) {
             TilemapTile t = iter.next();
             if (t == null) continue;
@@ -308,6 +621,7 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         mapSpeedDiff = 0;
         originRotation = 0;
         maxDistanceFromCenter = 0;
+        boundingDistance = 0;
         isChained = false;
         isTilemapInitilized = false;
         speedDiff = 0;
@@ -315,9 +629,16 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         rotation = 0;
         cos = 1;
         sin = 0;
+        prevWorldPosition.set(worldPosition);
+        prevCos = 1;
+        prevSin = 0;
+        prevRotation = 0;
+        positionsDirty = false;
+        previousOutdated = false;
     }
 
     void setMapPosition(float x, float y) {
+        positionsDirty = true;
         worldPosition.set(x, y);
         offset.set(x - (defPosition.x + origin.x), y - (defPosition.y + origin.y));
     }
@@ -351,6 +672,14 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         return worldPosition.y;
     }
 
+    public float getPreviousPositionX() {
+        return prevWorldPosition.x;
+    }
+
+    public float getPreviousPositionY() {
+        return prevWorldPosition.y;
+    }
+
     public float getOriginX() {
         return origin.x;
     }
@@ -368,9 +697,14 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
     }
 
     void updateWorldPosition() {
+        positionsDirty = true;
         worldPosition.set(defPosition.x, defPosition.y).add(origin).add(offset);
     }
 
+    private static long toKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
     private int roundClosestInt(float n) {
         if (n > 0)
             return (int) Math.floor(n + .5f);
@@ -397,6 +731,37 @@ public class Tilemap extends Observable implements Comparable<Tilemap> {
         tmTile.setNeighbour(side, neighbour);
     }
 
+    /**
+     * Stores the tile's offset from the layer's position before any rotation and places it in the world
+     */
+    private void storeLocalPosition(TilemapTile tmTile) {
+        int slot = tmTile.index * 2;
+        if (slot + 2 > localPositions.length) {
+            int capacity = localPositions.length * 2;
+            localPositions = Arrays.copyOf(localPositions, capacity);
+            worldPositions = Arrays.copyOf(worldPositions, capacity);
+            previousPositions = Arrays.copyOf(previousPositions, capacity);
+            positionVersions = Arrays.copyOf(positionVersions, capacity / 2);
+        }
+        positionVersions[tmTile.index] = positionsVersion;
+
+        float x = tmTile.getX();
+        float y = tmTile.getY();
+        float tileSize = WorldSettings.getTileSize();
+        float tileXDistance = tileSize * .95f;
+        float tileXDistanceHalf = tileXDistance / 2;
+        float tileYDistance = tileSize * .80f;
+
+        float localX = x * tileXDistance + y * tileXDistanceHalf;
+        float localY = y * tileYDistance;
+        localPositions[slot] = localX;
+        localPositions[slot + 1] = localY;
+
+        // it wasn't anywhere before
+        worldPositions[slot] = previousPositions[slot] = worldPosition.x + localX * cos + localY * sin;
+        worldPositions[slot + 1] = previousPositions[slot + 1] = worldPosition.y - localX * sin + localY * cos;
+    }
+
     private void updateTilemapTile(TilemapTile tmTile) {
         float x = tmTile.getX();
         float y = tmTile.getY();
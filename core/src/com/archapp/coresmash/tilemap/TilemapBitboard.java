@@ -0,0 +1,195 @@
+package com.archapp.coresmash.tilemap;
+
+import java.util.Arrays;
+
+/**
+ * A layer's tiles as bit planes with one long per row of the grid, one plane for the occupied
+ * cells and one for each color of regular balls.
+ * <p>
+ * The tile at x,y is bit {@code x + radius} of row {@code y + radius}. Its neighbours are the bits
+ * next to it in its row, the same bit and the previous one in the row above, and the same bit and
+ * the next one in the row below, so growing or flooding a whole area is a few shifts per row.
+ * <p>
+ * Planes passed in and out are arrays of {@link #getRowCount()} longs. Floods reuse an internal
+ * buffer, so a bitboard is only good for one thread at a time.
+ */
+public class TilemapBitboard {
+    public static final int MAX_RADIUS = 31; // 63 bits per row
+
+    private final int radius;
+    private final int rows;
+    private final long rowMask;
+    private final long[] occupied;
+    private final long[] colors; // Tilemap.COLOR_COUNT planes back to back
+    private final long[] scratch;
+
+    TilemapBitboard(int radius) {
+        if (radius < 0 || radius > MAX_RADIUS) throw new RuntimeException("Invalid radius: " + radius);
+
+        this.radius = radius;
+        rows = radius * 2 + 1;
+        rowMask = (1L << rows) - 1;
+        occupied = new long[rows];
+        colors = new long[rows * Tilemap.COLOR_COUNT];
+        scratch = new long[rows];
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public long[] newPlane() {
+        return new long[rows];
+    }
+
+    public boolean covers(int x, int y) {
+        return Math.abs(x) <= radius && Math.abs(y) <= radius;
+    }
+
+    void set(int x, int y, int color) {
+        int row = y + radius;
+        long bit = 1L << (x + radius);
+        occupied[row] |= bit;
+        if (color != -1) {
+            colors[color * rows + row] |= bit;
+        }
+    }
+
+    void clear(int x, int y, int color) {
+        int row = y + radius;
+        long bit = ~(1L << (x + radius));
+        occupied[row] &= bit;
+        if (color != -1) {
+            colors[color * rows + row] &= bit;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(occupied, 0);
+        Arrays.fill(colors, 0);
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return covers(x, y) && isSet(occupied, x, y);
+    }
+
+    public boolean isSet(long[] plane, int x, int y) {
+        return (plane[y + radius] & (1L << (x + radius))) != 0;
+    }
+
+    public long[] getOccupied(long[] out) {
+        System.arraycopy(occupied, 0, out, 0, rows);
+        return out;
+    }
+
+    public long[] getColor(int color, long[] out) {
+        System.arraycopy(colors, color * rows, out, 0, rows);
+        return out;
+    }
+
+    public int getTileCount() {
+        return count(occupied, 0, rows);
+    }
+
+    public int getTileCountOfColor(int color) {
+        return count(colors, color * rows, rows);
+    }
+
+    public boolean hasColor(int color) {
+        for (int i = color * rows, end = i + rows; i < end; ++i) {
+            if (colors[i] != 0) return true;
+        }
+        return false;
+    }
+
+    public static int count(long[] plane) {
+        return count(plane, 0, plane.length);
+    }
+
+    private static int count(long[] plane, int from, int length) {
+        int total = 0;
+        for (int i = from, end = from + length; i < end; ++i) {
+            total += Long.bitCount(plane[i]);
+        }
+        return total;
+    }
+
+    /**
+     * The cells within distance of x,y, occupied or not.
+     */
+    public long[] getDisk(int x, int y, int distance, long[] out) {
+        for (int row = 0; row < rows; ++row) {
+            int dy = row - radius - y;
+            if (Math.abs(dy) > distance) {
+                out[row] = 0;
+                continue;
+            }
+
+            int minX = x + Math.max(-distance, -distance - dy) + radius;
+            int maxX = x + Math.min(distance, distance - dy) + radius;
+            minX = Math.max(minX, 0);
+            maxX = Math.min(maxX, rows - 1);
+            out[row] = minX > maxX ? 0 : (rowMask >>> (rows - 1 - maxX + minX)) << minX;
+        }
+        return out;
+    }
+
+    /**
+     * The cells of the plane along with their neighbours. Out must not be the plane itself.
+     */
+    public long[] dilate(long[] plane, long[] out) {
+        for (int row = 0; row < rows; ++row) {
+            long cells = plane[row];
+            long grown = cells | (cells << 1) | (cells >>> 1);
+            if (row + 1 < rows) {
+                long above = plane[row + 1];
+                grown |= above | (above << 1);
+            }
+            if (row > 0) {
+                long below = plane[row - 1];
+                grown |= below | (below >>> 1);
+            }
+            out[row] = grown & rowMask;
+        }
+        return out;
+    }
+
+    /**
+     * The cells of within that are connected to x,y through other cells of within. Empty if x,y
+     * isn't one of them.
+     */
+    public long[] flood(int x, int y, long[] within, long[] out) {
+        Arrays.fill(out, 0);
+        if (!covers(x, y) || !isSet(within, x, y)) return out;
+
+        out[y + radius] = 1L << (x + radius);
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            dilate(out, scratch);
+            for (int row = 0; row < rows; ++row) {
+                long reached = out[row] | (scratch[row] & within[row]);
+                if (reached != out[row]) {
+                    out[row] = reached;
+                    grew = true;
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * The tiles no longer connected to the layer's 0,0 tile, or every tile if it's gone.
+     */
+    public long[] getFloating(long[] out) {
+        flood(0, 0, occupied, out);
+        for (int row = 0; row < rows; ++row) {
+            out[row] = occupied[row] & ~out[row];
+        }
+        return out;
+    }
+}
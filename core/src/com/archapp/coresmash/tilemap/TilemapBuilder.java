@@ -20,6 +20,7 @@ public class TilemapBuilder {
 
     private boolean debugEnabled;
     private boolean isBuilt;
+    private boolean blueprintOnly;
     private Tilemap tilemap;
     private int colorCount;
     private int maxDistance;
@@ -92,6 +93,15 @@ public class TilemapBuilder {
         tilemap = tm;
     }
 
+    /**
+     * Works out a layer without a tilemap to put it in, see {@link #buildBlueprint()}.
+     * Doesn't touch anything else, so it can be done off the render thread.
+     */
+    public void startNewBlueprint() {
+        reset();
+        blueprintOnly = true;
+    }
+
     public TilemapBuilder setChained(boolean chained) {
         builderInfo.isChained = chained;
         return this;
@@ -385,10 +395,8 @@ public class TilemapBuilder {
     }
 
     public void build() {
-        if (colorCount > 1) {
-            applyFilter();
-        }
-        putFixedTilesInBlueprint();
+        if (blueprintOnly) throw new RuntimeException("Started as a blueprint");
+        arrangeTiles();
         // TODO(4/5/2018): this function needs to know what each id represents...
 
         for (BlueprintTile tile : blueprintList) {
@@ -399,6 +407,30 @@ public class TilemapBuilder {
         isBuilt = true;
     }
 
+    public LayerBlueprint buildBlueprint() {
+        if (!blueprintOnly) throw new RuntimeException("Started with a tilemap");
+        checkIfCanBuild();
+        arrangeTiles();
+
+        int[] tiles = new int[blueprintList.size() * 3];
+        int i = 0;
+        for (BlueprintTile tile : blueprintList) {
+            tiles[i++] = tile.x;
+            tiles[i++] = tile.y;
+            tiles[i++] = tile.ID;
+        }
+
+        isBuilt = true;
+        return new LayerBlueprint(tiles, new TilemapBuilderInfo(builderInfo));
+    }
+
+    private void arrangeTiles() {
+        if (colorCount > 1) {
+            applyFilter();
+        }
+        putFixedTilesInBlueprint();
+    }
+
     private BlueprintTile getTile(int x, int y) {
         dummySearchTile.set(x, y);
         int index = Collections.binarySearch(blueprintList, dummySearchTile);
@@ -458,7 +490,7 @@ public class TilemapBuilder {
     }
 
     private void checkIfCanBuild() {
-        if (isBuilt || tilemap == null) throw new RuntimeException("Can't build");
+        if (isBuilt || (tilemap == null && !blueprintOnly)) throw new RuntimeException("Can't build");
         if (colorCount == 0) throw new RuntimeException("ColorCount must be set first");
     }
 
@@ -475,6 +507,7 @@ public class TilemapBuilder {
 
         tilemap = null;
         isBuilt = false;
+        blueprintOnly = false;
         colorCount = 0;
         maxDistance = 0;
         maxMatchCount = 0;
@@ -626,6 +659,18 @@ public class TilemapBuilder {
             offset = new Vector2();
         }
 
+        private TilemapBuilderInfo(TilemapBuilderInfo copy) {
+            origin = new Vector2(copy.origin);
+            offset = new Vector2(copy.offset);
+            isChained = copy.isChained;
+            minMapRotationSpeed = copy.minMapRotationSpeed;
+            maxMapRotationSpeed = copy.maxMapRotationSpeed;
+            rotateMapCounterClockwise = copy.rotateMapCounterClockwise;
+            minRotSpeed = copy.minRotSpeed;
+            maxRotSpeed = copy.maxRotSpeed;
+            rotateCounterClockwise = copy.rotateCounterClockwise;
+        }
+
         private void reset() {
             minMapRotationSpeed = 0;
             maxMapRotationSpeed = 0;
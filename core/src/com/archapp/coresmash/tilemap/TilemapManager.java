@@ -13,8 +13,11 @@ import com.archapp.coresmash.tiles.Destroyable;
 import com.archapp.coresmash.tiles.Tile;
 import com.archapp.coresmash.tiles.TileContainer.Side;
 import com.archapp.coresmash.tiles.TileType;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -38,10 +41,17 @@ public class TilemapManager extends Observable implements TilemapCollection, Obs
     private final Map worldMap;
 
     private List<TilemapTile> tileList;
-    private List<TilemapTile> queuedForDeletion;
+    private List<ArrayList<TilemapTile>> queuedForDeletion; // per layer
+    private boolean[] floatingCheckNeeded = new boolean[0];
+    private ArrayList<TilemapTile> removing = new ArrayList<>();
+    private boolean destroying;
+    private int tilesDestroyed;
+    private int astronautsDestroyed;
+    private boolean centerTileDestroyed;
     private TilemapPathfinder pathfinder = new TilemapPathfinder();
     private TilemapBuilder tilemapBuilder = new TilemapBuilder();
     private Match3 match3 = new Match3();
+    private ArrayList<TilemapTile> match = new ArrayList<>();
     private AnimationManager animationManager;
     private int[] colorsAvailable = new int[8]; // XXX(22/4/2018): MagicValue 7 (Should ask TileIndex)
 
@@ -90,6 +100,47 @@ public class TilemapManager extends Observable implements TilemapCollection, Obs
         return worldMap.getLayerRotation(layer);
     }
 
+    public float getLayerPreviousRotation(int layer) {
+        return worldMap.getLayerPreviousRotation(layer);
+    }
+
+    public float getLayerBoundingRadius(int layer) {
+        return worldMap.getLayerBoundingRadius(layer);
+    }
+
+    public int getLayerTileCount(int layer) {
+        return worldMap.getTileCountFrom(layer);
+    }
+
+    /**
+     * The tiles of a single layer, unordered. Must not be iterated while tiles get destroyed.
+     */
+    public List<TilemapTile> getLayerTileList(int layer) {
+        return worldMap.getTileListFrom(layer);
+    }
+
+    /**
+     * The regular balls of a color in a layer, linked through {@link TilemapTile#getNextOfColor()}.
+     * Must not be walked while tiles get destroyed.
+     *
+     * @return null if there are none
+     */
+    public TilemapTile getFirstTileOfColor(int layer, int color) {
+        return worldMap.getFirstTileOfColor(layer, color);
+    }
+
+    public int getTileCountOfColor(int layer, int color) {
+        return worldMap.getTileCountOfColor(layer, color);
+    }
+
+    public Vector3 getWorldToLayerCoords(int layer, Vector3 world) {
+        return worldMap.getWorldToLayerCoords(layer, world);
+    }
+
+    public Vector2 applyLayerLastMove(int layer, Vector2 point) {
+        return worldMap.applyLayerLastMove(layer, point);
+    }
+
     public boolean tileExists(TilemapTile tile) {
         return getTilemapTile(tile.getLayerID(), tile.getX(), tile.getY()) != null;
     }
@@ -102,23 +153,110 @@ public class TilemapManager extends Observable implements TilemapCollection, Obs
      * Ensure the provided list contains no null values
      */
     public void removeTile(List<TilemapTile> forRemoval) {
-        worldMap.removeTile(forRemoval);
-
-        for (TilemapTile tile : forRemoval) {
-            handleTileRemoval(tile);
+        for (int i = 0; i < forRemoval.size(); ++i) {
+            queueForRemoval(forRemoval.get(i), false);
         }
+        destroyQueued();
     }
 
     public void removeTile(int layer, int x, int y) {
-        TilemapTile tmTile = worldMap.removeTile(layer, x, y);
+        TilemapTile tmTile = worldMap.getTilemapTile(layer, x, y);
         if (tmTile == null) return;
 
-        handleTileRemoval(tmTile);
+        queueForRemoval(tmTile, false);
+        destroyQueued();
     }
 
-    private void handleTileRemoval(TilemapTile tile) {
-        tileList.remove(tile);
+    private void queueForRemoval(TilemapTile tile, boolean checkFloating) {
+        if (tile.queuedForRemoval || !tile.isPlaced()) return;
+
+        int layer = tile.getLayerID();
+        while (queuedForDeletion.size() <= layer) {
+            queuedForDeletion.add(new ArrayList<TilemapTile>());
+        }
+        if (floatingCheckNeeded.length <= layer) {
+            floatingCheckNeeded = Arrays.copyOf(floatingCheckNeeded, layer + 1);
+        }
 
+        tile.queuedForRemoval = true;
+        queuedForDeletion.get(layer).add(tile);
+        floatingCheckNeeded[layer] |= checkFloating;
+    }
+
+    /*
+     * Removes everything queued a layer at a time. Destroyables going off while their tiles get
+     * handled (e.g. bombs) only queue more tiles, which get picked up by the next round of the loop
+     * instead of recursing, so every tile is removed once no matter how many effects reach it.
+     * The totals go out once everything has settled.
+     */
+    private void destroyQueued() {
+        if (destroying) return;
+        destroying = true;
+
+        boolean queued = true;
+        while (queued) {
+            for (int layer = 0; layer < queuedForDeletion.size(); ++layer) {
+                ArrayList<TilemapTile> queue = queuedForDeletion.get(layer);
+                if (queue.isEmpty()) continue;
+
+                if (floatingCheckNeeded[layer] && worldMap.isChained(layer) && !containsCenterTile(queue)) {
+                    int queuedSize = queue.size();
+                    pathfinder.getDestroyableTiles(queue);
+                    for (int i = queuedSize; i < queue.size(); ++i) {
+                        queue.get(i).queuedForRemoval = true;
+                    }
+                }
+                floatingCheckNeeded[layer] = false;
+
+                worldMap.removeTile(queue);
+                removing.addAll(queue);
+                queue.clear();
+            }
+            if (removing.isEmpty()) break;
+
+            compactTileList();
+            for (int i = 0; i < removing.size(); ++i) {
+                handleTileRemoval(removing.get(i));
+            }
+            removing.clear();
+
+            queued = false;
+            for (int layer = 0; layer < queuedForDeletion.size(); ++layer) {
+                if (!queuedForDeletion.get(layer).isEmpty()) {
+                    queued = true;
+                    break;
+                }
+            }
+        }
+
+        destroying = false;
+        notifyDestroyed();
+    }
+
+    private boolean containsCenterTile(List<TilemapTile> tiles) {
+        for (int i = 0; i < tiles.size(); ++i) {
+            TilemapTile tile = tiles.get(i);
+            if (tile.getX() == 0 && tile.getY() == 0 && tile.getLayerID() == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* One pass over the list no matter how many tiles went, instead of a remove() per tile */
+    private void compactTileList() {
+        int kept = 0;
+        for (int i = 0; i < tileList.size(); ++i) {
+            TilemapTile tile = tileList.get(i);
+            if (tile.isPlaced()) {
+                tileList.set(kept++, tile);
+            }
+        }
+        tileList.subList(kept, tileList.size()).clear();
+    }
+
+    private void handleTileRemoval(TilemapTile tile) {
+        tile.queuedForRemoval = false;
         removeColorAvailable(tile);
 
         Tile removed = tile.getTile();
@@ -127,12 +265,28 @@ public class TilemapManager extends Observable implements TilemapCollection, Obs
         }
 
         if (tile.getLayerID() == 0 && tile.getX() == 0 && tile.getY() == 0) {
-            notifyObservers(NotificationType.NOTIFICATION_TYPE_CENTER_TILE_DESRTOYED, null);
+            centerTileDestroyed = true;
         }
 
         animationManager.put(tile);
     }
 
+    // the center tile goes last so that the points of everything destroyed along with it still count
+    private void notifyDestroyed() {
+        if (tilesDestroyed > 0) {
+            notifyObservers(NotificationType.TILES_DESTROYED, tilesDestroyed);
+            tilesDestroyed = 0;
+        }
+        if (astronautsDestroyed > 0) {
+            notifyObservers(NotificationType.ASTRONAUTS_DESTROYED, astronautsDestroyed);
+            astronautsDestroyed = 0;
+        }
+        if (centerTileDestroyed) {
+            centerTileDestroyed = false;
+            notifyObservers(NotificationType.NOTIFICATION_TYPE_CENTER_TILE_DESRTOYED, null);
+        }
+    }
+
     public int getCenterTileID() {
         return worldMap.getTilemapTile(0, 0, 0).getTileID();
     }
@@ -153,39 +307,27 @@ public class TilemapManager extends Observable implements TilemapCollection, Obs
                 TilemapTile newTile = worldMap.placeTile(tileHit, tile, side);
                 addColorAvailable(newTile);
                 tileList.add(newTile);
+                animationManager.put(newTile, AnimationManager.Effect.ATTACH);
                 return newTile;
             }
         }
         throw new RuntimeException("No empty side on collided tile");
     }
 
-    /* Assumes that all destroyed tiles come from the *same* layer! */
+    /**
+     * Destroys the tiles along with any tiles of chained layers left floating because of them.
+     * Tiles already destroyed or queued for destruction are skipped.
+     */
     public void destroyTiles(List<TilemapTile> destroyList) {
-        if (destroyList.size() == 0) return;
-
-        boolean containsCenterTile = false;
-        for (TilemapTile tile : destroyList) {
-            if (tile.getX() == 0 && tile.getY() == 0 && tile.getLayerID() == 0) {
-                containsCenterTile = true;
-                break;
-            }
-        }
-
-        if (containsCenterTile) {
-            removeTile(destroyList);
-        } else {
-            if (worldMap.isChained(destroyList.get(0).getLayerID())) {
-                pathfinder.getDestroyableTiles(destroyList);
-                removeTile(destroyList);
-            } else {
-                removeTile(destroyList);
-            }
+        for (int i = 0; i < destroyList.size(); ++i) {
+            queueForRemoval(destroyList.get(i), true);
         }
+        destroyQueued();
     }
 
     public List<TilemapTile> getColorMatches(TilemapTile tile) {
         assert tile != null;
-        ArrayList<TilemapTile> match = match3.getColorMatchesFromTile(tile);
+        match3.getColorMatchesFromTile(tile, match);
 
         if (match.size() < 3) {
             if (match.size() == 1) {
@@ -202,9 +344,35 @@ public class TilemapManager extends Observable implements TilemapCollection, Obs
         return tilemapBuilder;
     }
 
+    public void newLayer(LayerBlueprint blueprint) {
+        blueprint.instantiate(worldMap.newLayer());
+    }
+
+    /**
+     * Tile positions get computed only when asked for. Meant for when nothing is drawn.
+     */
+    public void setLazyPositions(boolean lazy) {
+        worldMap.setLazyPositions(lazy);
+    }
+
+    /**
+     * Keeps a bitboard of every layer, for bulk queries over the tiles.
+     *
+     * @see Tilemap#setBitboardEnabled(boolean)
+     */
+    public void setBitboardsEnabled(boolean enabled) {
+        worldMap.setBitboardsEnabled(enabled);
+    }
+
+    /**
+     * @return null unless bitboards are enabled and the layer fits in one
+     */
+    public TilemapBitboard getLayerBitboard(int layer) {
+        return worldMap.getBitboard(layer);
+    }
+
     public void update(float delta) {
         worldMap.update(delta);
-        queuedForDeletion.clear();
     }
 
     public void reset() {
@@ -222,6 +390,12 @@ public class TilemapManager extends Observable implements TilemapCollection, Obs
     @Override
     public void onNotify(NotificationType type, Object ob) {
         switch (type) {
+            case TILE_DESTROYED:
+                // summed up and sent once the destruction settles
+                ++tilesDestroyed;
+                if (((TilemapTile) ob).getTile().getTileType().getMajorType() == TileType.MajorType.ASTRONAUT)
+                    ++astronautsDestroyed;
+                break;
             case TILEMAP_INITIALIZED:
                 List<TilemapTile> tiles = (List<TilemapTile>) ob;
                 short astronautsFound = 0;
@@ -4,46 +4,57 @@ import com.archapp.coresmash.tiles.Breakable;
 import com.archapp.coresmash.tiles.TileContainer.Side;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Finds the tiles that will be left floating once a group of tiles gets destroyed.
+ * <p>
+ * Only the tiles around the destroyed ones are searched from. Each search heads towards the center
+ * and stops as soon as it reaches it, or reaches a tile an earlier search already found connected.
+ * Tiles are marked with their state for the current pass (see {@link TilemapTile#newMarkEpoch()}), so
+ * the cost follows the size of the area explored and not the size of the map.
+ */
 class TilemapPathfinder {
+    private static final Side[] SIDES = Side.values();
+
+    /* Mark values, tiles without a mark in the current pass are unexplored */
+    private static final int DOOMED = 1;
+    private static final int VISITED = 2;
+    private static final int CONNECTED = 3;
+    private static final int FLOATING = 4;
+
     private List<TilemapTile> altered;
     private List<TilemapTile> closed;
-    private List<TilemapTile> opened;
-    private List<TilemapTile> checked;
-    private Comparator<TilemapTile> compDistance;
+    private TilemapTile[] heap;
+    private int heapSize;
+    private int epoch;
 
     TilemapPathfinder() {
         altered = new ArrayList<>();
         closed = new ArrayList<>();
-        opened = new ArrayList<>();
-        checked = new ArrayList<>();
-        compDistance = new Comparator<TilemapTile>() {
-            @Override
-            public int compare(TilemapTile t0, TilemapTile t1) {
-                return Integer.compare(t0.getDistanceFromCenter(), t1.getDistanceFromCenter());
-            }
-        };
+        heap = new TilemapTile[32];
     }
 
     // NOTE: current implementation is vulnerable to destroyLists that contains all balls around the center
     // tile effectively destroying every destroyable ball on the tilemap
     public void getDestroyableTiles(List<TilemapTile> output) {
-        checked.clear();
         altered.clear();
+        epoch = TilemapTile.newMarkEpoch();
         TilemapTile centerTile = null;
 
+        for (TilemapTile tile : output) {
+            tile.setMark(epoch, DOOMED);
+        }
+
         for (TilemapTile tile : output) {
             if (tile.getX() == 0 && tile.getY() == 0 && tile.getLayerID() == 0) {
                 centerTile = tile;
                 continue;
             }
 
-            for (Side side : Side.values()) {
+            for (Side side : SIDES) {
                 TilemapTile neighbour = tile.getNeighbour(side);
-                if (neighbour != null && !altered.contains(neighbour)) {
+                if (neighbour != null && neighbour.getMark(epoch) == 0) {
                     altered.add(neighbour);
                 }
             }
@@ -54,18 +65,23 @@ class TilemapPathfinder {
         // added at the end of the list cause when it is destroyed, it emmits that the center
         // tile has been destroyed and freezes StatManager preventing it from obtaining the last points
         if (centerTile != null) {
-            if (!output.contains(centerTile))
+            if (centerTile.getMark(epoch) != DOOMED)
                 output.add(centerTile);
         }
     }
 
     private void validateAlteredTiles(List<TilemapTile> output) {
         for (TilemapTile origin : altered) {
-            if (output.contains(origin) || checked.contains(origin)) continue;
+            if (origin.getMark(epoch) != 0) continue; // doomed or already reached by another search
 
-            if (isConnected(origin, output)) {
-                checked.addAll(closed);
+            if (isConnected(origin)) {
+                markClosed(CONNECTED);
+                /* Whatever is left in the heap touches a connected tile */
+                while (heapSize > 0) {
+                    pop().setMark(epoch, CONNECTED);
+                }
             } else {
+                markClosed(FLOATING);
                 for (TilemapTile tile : closed) {
                     if (tile.getTile() instanceof Breakable) {
                         output.add(tile);
@@ -75,37 +91,80 @@ class TilemapPathfinder {
         }
     }
 
-    private boolean isConnected(TilemapTile tmTile, List<TilemapTile> output) {
+    /**
+     * Best first search towards the center. Every tile taken out of the heap ends up in the closed list.
+     */
+    private boolean isConnected(TilemapTile origin) {
         closed.clear();
-        opened.clear();
-        opened.add(tmTile);
-        do {
-            if (opened.get(0).getDistanceFromCenter() == 0) return true;
-            /* If it is connected to a checked tiles it means it is also connected */
-            if (addSurroundingTiles(opened.get(0), output)) return true;
-
-            Collections.sort(opened, compDistance);
-        } while (opened.size() != 0);
-
+        heapSize = 0;
+        origin.setMark(epoch, VISITED);
+        push(origin);
+
+        while (heapSize > 0) {
+            TilemapTile tmTile = pop();
+            closed.add(tmTile);
+            if (tmTile.getDistanceFromCenter() == 0) return true;
+
+            for (Side side : SIDES) {
+                TilemapTile neighbour = tmTile.getNeighbour(side);
+                if (neighbour == null) continue;
+
+                int mark = neighbour.getMark(epoch);
+                /* If it is connected to a checked tile it means it is also connected */
+                if (mark == CONNECTED) return true;
+                if (mark == 0) {
+                    neighbour.setMark(epoch, VISITED);
+                    push(neighbour);
+                }
+            }
+        }
         return false;
     }
 
-    /**
-     * Adds surrounding tiles and returns if it came across a checked neighbour
-     */
-    private boolean addSurroundingTiles(TilemapTile tmTile, List<TilemapTile> output) {
-        opened.remove(tmTile);
-        closed.add(tmTile);
+    private void markClosed(int mark) {
+        for (TilemapTile tile : closed) {
+            tile.setMark(epoch, mark);
+        }
+    }
 
-        for (Side side : Side.values()) {
-            TilemapTile neighbour = tmTile.getNeighbour(side);
-            if (neighbour == null) continue;
-            if (checked.contains(neighbour)) return true; // found a checked neighbour
+    /* Binary min heap on the distance from the center */
+    private void push(TilemapTile tile) {
+        if (heapSize == heap.length) {
+            TilemapTile[] grown = new TilemapTile[heapSize * 2];
+            System.arraycopy(heap, 0, grown, 0, heapSize);
+            heap = grown;
+        }
 
-            if (!closed.contains(neighbour) && !opened.contains(neighbour) && !output.contains(neighbour)) {
-                opened.add(neighbour);
+        int i = heapSize++;
+        int distance = tile.getDistanceFromCenter();
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].getDistanceFromCenter() <= distance) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = tile;
+    }
+
+    private TilemapTile pop() {
+        TilemapTile top = heap[0];
+        TilemapTile last = heap[--heapSize];
+        heap[heapSize] = null;
+
+        if (heapSize > 0) {
+            int i = 0;
+            int distance = last.getDistanceFromCenter();
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && heap[child + 1].getDistanceFromCenter() < heap[child].getDistanceFromCenter())
+                    ++child;
+                if (heap[child].getDistanceFromCenter() >= distance) break;
+                heap[i] = heap[child];
+                i = child;
             }
+            heap[i] = last;
         }
-        return false;
+        return top;
     }
 }
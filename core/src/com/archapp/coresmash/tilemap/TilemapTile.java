@@ -3,23 +3,35 @@ package com.archapp.coresmash.tilemap;
 import com.archapp.coresmash.Coords2D;
 import com.archapp.coresmash.tiles.Tile;
 import com.archapp.coresmash.tiles.TileContainer;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Pool;
 
 import java.util.List;
 
 public class TilemapTile extends TileContainer implements Comparable<TilemapTile>, Pool.Poolable {
+    private static int lastMarkEpoch;
+
     final private Coords2D coords;
     final private NeighbourTiles neighbourTiles;
+    final private Vector2 previousPosition;
     private int distanceFromCenter;
     private int layerID;
     float rotation;
     boolean dispose;
+    int index = -1; // slot in the Tilemap's tile list
+    Tilemap tilemap; // while placed, the positions live in the Tilemap's arrays
+    boolean queuedForRemoval; // already waiting in the TilemapManager's destruction queue
+    TilemapTile previousOfColor; // regular balls are linked with the rest of their color in the layer
+    TilemapTile nextOfColor;
+    private int markEpoch;
+    private int mark;
 
     // PUBLIC
 
     public TilemapTile() {
         coords = new Coords2D();
         neighbourTiles = new NeighbourTiles();
+        previousPosition = new Vector2();
     }
 
     public TilemapTile(Tile tile) {
@@ -30,10 +42,39 @@ public class TilemapTile extends TileContainer implements Comparable<TilemapTile
     public void reset() {
         super.reset();
         coords.set(0, 0);
+        previousPosition.setZero();
         distanceFromCenter = 0;
         layerID = 0;
         rotation = 0;
         dispose = false;
+        index = -1;
+        tilemap = null;
+        queuedForRemoval = false;
+        previousOfColor = null;
+        nextOfColor = null;
+        markEpoch = 0;
+        mark = 0;
+    }
+
+    /**
+     * Starts a new marking pass. Marks set in previous passes are ignored from now on, so tiles
+     * never need to be cleared after a search.
+     */
+    public static int newMarkEpoch() {
+        if (++lastMarkEpoch == 0) ++lastMarkEpoch; // 0 is what reset tiles have
+        return lastMarkEpoch;
+    }
+
+    /**
+     * @return The mark set during the given pass or 0 if there wasn't any
+     */
+    public int getMark(int epoch) {
+        return markEpoch == epoch ? mark : 0;
+    }
+
+    public void setMark(int epoch, int value) {
+        markEpoch = epoch;
+        mark = value;
     }
 
     public int getX() {
@@ -61,8 +102,53 @@ public class TilemapTile extends TileContainer implements Comparable<TilemapTile
         }
     }
 
+    /**
+     * The next regular ball of the same color in this layer, in no particular order.
+     *
+     * @see Tilemap#getFirstTileOfColor(int)
+     */
+    public TilemapTile getNextOfColor() {
+        return nextOfColor;
+    }
+
+    /**
+     * @return Whether the tile is currently part of a Tilemap
+     */
+    public boolean isPlaced() {
+        return tilemap != null;
+    }
+
     public float getRotation() {
-        return rotation;
+        return tilemap == null ? rotation : tilemap.getRotation();
+    }
+
+    /**
+     * The rotation the tile had before the last update of its Tilemap.
+     */
+    public float getPreviousRotation() {
+        return tilemap == null ? rotation : tilemap.getPreviousRotation();
+    }
+
+    @Override
+    public Vector2 getPositionInWorld() {
+        if (tilemap != null) {
+            tilemap.validatePosition(index);
+            float[] positions = tilemap.getWorldPositions();
+            positionInWorld.set(positions[index * 2], positions[index * 2 + 1]);
+        }
+        return positionInWorld;
+    }
+
+    /**
+     * The position the tile had before the last update of its Tilemap.
+     */
+    public Vector2 getPreviousPosition() {
+        if (tilemap != null) {
+            tilemap.validatePosition(index);
+            float[] positions = tilemap.getPreviousPositions();
+            previousPosition.set(positions[index * 2], positions[index * 2 + 1]);
+        }
+        return previousPosition;
     }
 
     public void dispose() {
@@ -88,6 +174,14 @@ public class TilemapTile extends TileContainer implements Comparable<TilemapTile
         }
     }
 
+    /**
+     * @return Whether every side of the tile has a neighbour
+     */
+    public boolean isSurrounded() {
+        return neighbourTiles.left != null && neighbourTiles.topLeft != null && neighbourTiles.topRight != null
+                && neighbourTiles.right != null && neighbourTiles.bottomRight != null && neighbourTiles.bottomLeft != null;
+    }
+
     public boolean isCenterTile() {
         return coords.x == 0 && coords.y == 0 && layerID == 0;
     }
@@ -157,6 +251,15 @@ public class TilemapTile extends TileContainer implements Comparable<TilemapTile
         }
     }
 
+    /**
+     * Copies over the positions from the Tilemap so the tile can keep them after it's taken out
+     */
+    void storePositions() {
+        getPositionInWorld();
+        getPreviousPosition();
+        rotation = tilemap.getRotation();
+    }
+
     void clear() {
         detachNeighbours();
     }
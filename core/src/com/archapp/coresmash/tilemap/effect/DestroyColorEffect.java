@@ -0,0 +1,90 @@
+package com.archapp.coresmash.tilemap.effect;
+
+import com.archapp.coresmash.tilemap.Tilemap;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.tilemap.TilemapTile;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destroys the regular balls of one color within a radius, or in the whole layer for a negative
+ * radius. The center tile is always spared.
+ * <p>
+ * Goes through the layer's list of that color, unless looking up the cells in the radius is less work.
+ */
+public class DestroyColorEffect implements TilemapManager.TilemapEffect, Pool.Poolable {
+    public static final int WHOLE_LAYER = -1;
+
+    private static Pool<DestroyColorEffect> pool;
+
+    static {
+        pool = new Pool<DestroyColorEffect>() {
+            @Override
+            protected DestroyColorEffect newObject() {
+                return new DestroyColorEffect();
+            }
+        };
+    }
+
+    public static DestroyColorEffect newInstance(int radius, int layer, int coordX, int coordY, int colorID) {
+        DestroyColorEffect result = pool.obtain();
+        result.setup(radius, layer, coordX, coordY, colorID);
+        return result;
+    }
+
+    private int radius, layer, originX, originY, colorID;
+    private boolean isNew;
+    private List<TilemapTile> destroyList;
+
+    private DestroyColorEffect() {
+        destroyList = new ArrayList<>();
+    }
+
+    @Override
+    public void apply(TilemapManager tmm) {
+        if (!isNew) throw new RuntimeException("Effects can only be used once!");
+
+        if (radius != WHOLE_LAYER && HexDisk.getCellCount(radius) < tmm.getTileCountOfColor(layer, colorID)) {
+            int[] cells = HexDisk.getOffsets(radius);
+            for (int i = 0; i < cells.length; i += 2) {
+                TilemapTile tile = tmm.getTilemapTile(layer, originX + cells[i], originY + cells[i + 1]);
+                if (tile != null && tile.getTileID() == colorID && !tile.isCenterTile()) {
+                    destroyList.add(tile);
+                }
+            }
+        } else {
+            TilemapTile tile = tmm.getFirstTileOfColor(layer, colorID);
+            for (; tile != null; tile = tile.getNextOfColor()) {
+                if (tile.isCenterTile()) continue;
+                if (radius == WHOLE_LAYER || Tilemap.getTileDistance(tile.getX(), tile.getY(), originX, originY) <= radius) {
+                    destroyList.add(tile);
+                }
+            }
+        }
+
+        tmm.destroyTiles(destroyList);
+        isNew = false;
+        pool.free(this);
+    }
+
+    private void setup(int radius, int layer, int coordX, int coordY, int colorID) {
+        if (radius < WHOLE_LAYER) throw new RuntimeException("Invalid radius: " + radius);
+        if (colorID < 0 || colorID >= Tilemap.COLOR_COUNT) throw new RuntimeException("Not a color: " + colorID);
+
+        this.radius = radius;
+        this.originX = coordX;
+        this.originY = coordY;
+        this.layer = layer;
+        this.colorID = colorID;
+        isNew = true;
+    }
+
+    @Override
+    public void reset() {
+        destroyList.clear();
+        radius = layer = originX = originY = colorID = 0;
+        isNew = false;
+    }
+}
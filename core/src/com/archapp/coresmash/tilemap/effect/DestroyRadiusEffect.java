@@ -1,6 +1,5 @@
 package com.archapp.coresmash.tilemap.effect;
 
-import com.archapp.coresmash.tilemap.Tilemap;
 import com.archapp.coresmash.tilemap.TilemapManager;
 import com.archapp.coresmash.tilemap.TilemapTile;
 import com.badlogic.gdx.utils.Pool;
@@ -41,26 +40,7 @@ public class DestroyRadiusEffect implements TilemapManager.TilemapEffect, Pool.P
     public void apply(TilemapManager tmm) {
         if (!isNew) throw new RuntimeException("Effects can only be used once!");
 
-        if (radius == 0) {
-            destroyList.add(tmm.getTilemapTile(layer, originX, originY));
-        } else {
-            int minX = originX - radius;
-            int minY = originY - radius;
-            int maxX = originX + radius + 1;
-            int maxY = originY + radius + 1;
-
-            for (int y = minY; y < maxY; ++y) {
-                for (int x = minX; x < maxX; ++x) {
-                    if (Tilemap.getTileDistance(x, y, originX, originY) <= radius) {
-                        TilemapTile tile = tmm.getTilemapTile(layer, x, y);
-                        if (tile != null) {
-                            destroyList.add(tile);
-                        }
-                    }
-                }
-            }
-        }
-
+        HexDisk.collect(tmm, layer, originX, originY, radius, null, destroyList);
         tmm.destroyTiles(destroyList);
         isNew = false;
         pool.free(this);
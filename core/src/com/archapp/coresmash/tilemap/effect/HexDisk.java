@@ -0,0 +1,77 @@
+package com.archapp.coresmash.tilemap.effect;
+
+import com.archapp.coresmash.tilemap.Tilemap;
+import com.archapp.coresmash.tilemap.TilemapManager;
+import com.archapp.coresmash.tilemap.TilemapTile;
+
+import java.util.List;
+
+/**
+ * The cells within a given distance of a cell, as offsets from it. Tables get built once per radius
+ * and hold x,y pairs ring by ring, starting with the cell itself.
+ */
+final class HexDisk {
+    private static int[][] offsets = new int[0][];
+
+    private HexDisk() {
+    }
+
+    static int getCellCount(int radius) {
+        return 3 * radius * (radius + 1) + 1;
+    }
+
+    static int[] getOffsets(int radius) {
+        if (radius >= offsets.length) {
+            int[][] grown = new int[radius + 1][];
+            System.arraycopy(offsets, 0, grown, 0, offsets.length);
+            offsets = grown;
+        }
+
+        int[] result = offsets[radius];
+        if (result == null) {
+            result = new int[getCellCount(radius) * 2];
+            int i = 0;
+            for (int distance = 0; distance <= radius; ++distance) {
+                for (int y = -distance; y <= distance; ++y) {
+                    for (int x = -distance; x <= distance; ++x) {
+                        if (Tilemap.getTileDistance(x, y, 0, 0) == distance) {
+                            result[i++] = x;
+                            result[i++] = y;
+                        }
+                    }
+                }
+            }
+            offsets[radius] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Adds the tiles of the layer within radius of the origin that meet the condition to the output.
+     * When the disk has more cells than the layer has tiles, the layer's tiles get checked instead.
+     *
+     * @param condition null to accept every tile
+     */
+    static void collect(TilemapManager tmm, int layer, int originX, int originY, int radius,
+                        DestroyRadiusEffectConditional.Condition condition, List<TilemapTile> output) {
+        if (getCellCount(radius) > tmm.getLayerTileCount(layer)) {
+            List<TilemapTile> tiles = tmm.getLayerTileList(layer);
+            for (int i = 0; i < tiles.size(); ++i) {
+                TilemapTile tile = tiles.get(i);
+                if (Tilemap.getTileDistance(tile.getX(), tile.getY(), originX, originY) <= radius
+                        && (condition == null || condition.isConditionMet(tile))) {
+                    output.add(tile);
+                }
+            }
+            return;
+        }
+
+        int[] cells = getOffsets(radius);
+        for (int i = 0; i < cells.length; i += 2) {
+            TilemapTile tile = tmm.getTilemapTile(layer, originX + cells[i], originY + cells[i + 1]);
+            if (tile != null && (condition == null || condition.isConditionMet(tile))) {
+                output.add(tile);
+            }
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.archapp.coresmash.tiles;
 
 import com.archapp.coresmash.GameController;
 import com.archapp.coresmash.tilemap.TilemapTile;
-import com.archapp.coresmash.tilemap.effect.DestroyRadiusEffectConditional;
+import com.archapp.coresmash.tilemap.effect.DestroyColorEffect;
 
 public class ColorBomb extends Tile implements Launchable {
 
@@ -16,15 +16,11 @@ public class ColorBomb extends Tile implements Launchable {
     }
 
     @Override
-    public void onCollide(MovingBall ball, final TilemapTile tileHit, GameController controller) {
+    public void onCollide(MovingBall ball, TilemapTile tileHit, GameController controller) {
         if (!tileHit.getTile().getTileType().getMajorType().equals(TileType.MajorType.REGULAR))
             return;
 
-        DestroyRadiusEffectConditional.newInstance(4, tileHit.getLayerID(), tileHit.getX(), tileHit.getY(), new DestroyRadiusEffectConditional.Condition() {
-            @Override
-            public boolean isConditionMet(TilemapTile tile) {
-                return tile.getTileID() == tileHit.getTileID() && !tile.isCenterTile();
-            }
-        }).apply(controller.getBehaviourPack().tilemapManager);
+        DestroyColorEffect.newInstance(4, tileHit.getLayerID(), tileHit.getX(), tileHit.getY(), tileHit.getTileID())
+                .apply(controller.getBehaviourPack().tilemapManager);
     }
 }
@@ -1,16 +1,77 @@
 package com.archapp.coresmash.tiles;
 
+import com.archapp.coresmash.managers.MovingBallManager;
+import com.badlogic.gdx.math.Vector2;
+
 /**
  * Created by Michail on 19/3/2018.
  */
 
 public class MovingBall extends TileContainer {
     private float speed;
+    private float directionX;
+    private float directionY = 1;
     private float scale;
     private boolean flag;
+    private Vector2 previousPosition;
+    private MovingBallManager manager; // while active, the positions live in the manager's arrays
+    private int slot = -1;
 
     public MovingBall() {
+        previousPosition = new Vector2();
+    }
+
+    @Override
+    public Vector2 getPositionInWorld() {
+        if (manager != null) {
+            manager.readPosition(slot, positionInWorld);
+        }
+        return positionInWorld;
+    }
 
+    /**
+     * The position the ball had before its last update.
+     */
+    public Vector2 getPreviousPosition() {
+        if (manager != null) {
+            manager.readPreviousPosition(slot, previousPosition);
+        }
+        return previousPosition;
+    }
+
+    @Override
+    public void setPositionInWorld(float x, float y) {
+        super.setPositionInWorld(x, y);
+        previousPosition.set(x, y);
+        if (manager != null) {
+            manager.setPosition(slot, x, y);
+        }
+    }
+
+    /**
+     * Called by the {@link MovingBallManager} when the ball gets activated or changes slot.
+     */
+    public void bindSlot(MovingBallManager manager, int slot) {
+        this.manager = manager;
+        this.slot = slot;
+    }
+
+    /**
+     * @return The ball's slot in the {@link MovingBallManager}, or -1 while it isn't active
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Copies the positions back from the manager so the ball keeps them once it's no longer active.
+     */
+    public void unbindSlot() {
+        if (manager == null) return;
+        getPositionInWorld();
+        getPreviousPosition();
+        manager = null;
+        slot = -1;
     }
 
     /*
@@ -26,6 +87,33 @@ public class MovingBall extends TileContainer {
 
     public void setSpeed(float speed) {
         this.speed = speed * 100;
+        updateVelocity();
+    }
+
+    /**
+     * Balls go straight up unless told otherwise. The direction gets normalized.
+     */
+    public void setDirection(float x, float y) {
+        float length = (float) Math.sqrt(x * x + y * y);
+        if (length == 0) throw new RuntimeException("Direction has no length");
+        directionX = x / length;
+        directionY = y / length;
+        updateVelocity();
+    }
+
+    public float getDirectionX() {
+        return directionX;
+    }
+
+    public float getDirectionY() {
+        return directionY;
+    }
+
+    /**
+     * @return The speed in units per second
+     */
+    public float getSpeed() {
+        return speed;
     }
 
     public float getScale() {
@@ -45,11 +133,26 @@ public class MovingBall extends TileContainer {
     }
 
     public void moveBy(float x, float y) {
+        if (manager != null) {
+            manager.moveBy(slot, x, y);
+        } else {
             positionInWorld.add(x, y);
+        }
     }
 
+    /**
+     * Active balls get moved by {@link MovingBallManager#update(float)} instead.
+     */
     public void update(float delta) {
-        moveBy(0, speed * delta);
+        if (manager != null) return;
+        previousPosition.set(positionInWorld);
+        moveBy(directionX * speed * delta, directionY * speed * delta);
+    }
+
+    private void updateVelocity() {
+        if (manager != null) {
+            manager.setVelocity(slot, directionX * speed, directionY * speed);
+        }
     }
 
     public Tile extractTile() {
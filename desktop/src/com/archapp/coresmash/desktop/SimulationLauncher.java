@@ -0,0 +1,77 @@
+package com.archapp.coresmash.desktop;
+
+import com.archapp.coresmash.BurstPattern;
+import com.archapp.coresmash.levelbuilder.LevelListParser;
+import com.archapp.coresmash.simulation.HeadlessGame;
+import com.archapp.coresmash.simulation.SimulationReport;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays a level over and over without a window and prints how it went.
+ * <p>
+ * Usage: {@code SimulationLauncher [-external] [-seed N] [-burst N] <level> [rounds] [angle...]}
+ * <br>Without angles, balls are aimed at random. With -burst every launch fires N balls over a 60 degree arc.
+ */
+public class SimulationLauncher {
+	public static void main(String[] args) {
+		LevelListParser.Source source = LevelListParser.Source.INTERNAL;
+		long seed = System.nanoTime();
+		int burst = 1;
+		List<String> positional = new ArrayList<>();
+
+		for (int i = 0; i < args.length; ++i) {
+			switch (args[i]) {
+				case "-external":
+					source = LevelListParser.Source.EXTERNAL;
+					break;
+				case "-seed":
+					seed = Long.parseLong(args[++i]);
+					break;
+				case "-burst":
+					burst = Integer.parseInt(args[++i]);
+					break;
+				default:
+					positional.add(args[i]);
+			}
+		}
+
+		if (positional.isEmpty()) {
+			System.err.println("Usage: SimulationLauncher [-external] [-seed N] [-burst N] <level> [rounds] [angle...]");
+			System.exit(1);
+		}
+
+		final String level = positional.get(0);
+		final int rounds = positional.size() > 1 ? Integer.parseInt(positional.get(1)) : 1000;
+		final HeadlessGame.AimPolicy aim;
+		if (positional.size() > 2) {
+			float[] angles = new float[positional.size() - 2];
+			for (int i = 0; i < angles.length; ++i) {
+				angles[i] = Float.parseFloat(positional.get(i + 2));
+			}
+			aim = HeadlessGame.scriptedAim(angles);
+		} else {
+			aim = HeadlessGame.randomAim(seed);
+		}
+		final LevelListParser.Source levelSource = source;
+		final BurstPattern burstPattern = burst > 1 ? BurstPattern.spread(burst, 60) : null;
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = -1; // Everything happens in create()
+		new HeadlessApplication(new ApplicationAdapter() {
+			@Override
+			public void create() {
+				HeadlessGame game = new HeadlessGame(aim);
+				game.setBurstPattern(burstPattern);
+				SimulationReport report = game.run(level, levelSource, rounds);
+				System.out.println(report);
+				Gdx.app.exit();
+			}
+		}, config);
+	}
+}